@@ -0,0 +1,57 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import appeng.util.BootstrapMinecraft;
+
+/**
+ * Entry point of {@code ./gradlew jmh}. The benchmarks depend on the bootstrapped game and mod registries, which only
+ * exist inside the Fabric test launcher. They are therefore run in the JVM of this test rather than in forked JVMs.
+ */
+@BootstrapMinecraft
+class RunBenchmarks {
+    @Test
+    void runBenchmarks() throws Exception {
+        var options = new OptionsBuilder()
+                .forks(0)
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON);
+
+        var include = System.getProperty("appeng.jmh.include");
+        if (include != null) {
+            options.include(include);
+        }
+
+        var result = System.getProperty("appeng.jmh.result");
+        if (result != null) {
+            Files.createDirectories(Path.of(result).toAbsolutePath().getParent());
+            options.result(result);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
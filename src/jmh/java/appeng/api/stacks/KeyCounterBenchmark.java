@@ -0,0 +1,143 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.api.stacks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.FuzzyMode;
+
+/**
+ * Adding, removing and fuzzy-searching keys in a {@link KeyCounter}, as the network inventory and crafting
+ * calculations do. Half of the keys are damageable items, which are stored in the fuzzy variant lists.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KeyCounterBenchmark {
+    @Param({ "1000", "10000" })
+    int keyCount;
+
+    private AEKey[] keys;
+    private AEKey[] fuzzyQueries;
+    private KeyCounter churnCounter;
+    private KeyCounter filledCounter;
+
+    @Setup
+    public void setup() {
+        keys = new AEKey[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = i % 2 == 0 ? nameTag(i) : diamondSword(i);
+        }
+
+        fuzzyQueries = new AEKey[] {
+                AEItemKey.of(Items.DIAMOND_SWORD),
+                diamondSword(1),
+                diamondSword(keyCount - 1)
+        };
+
+        churnCounter = new KeyCounter();
+        filledCounter = new KeyCounter();
+        for (int i = 0; i < keyCount; i++) {
+            filledCounter.add(keys[i], 1 + i % 64);
+        }
+    }
+
+    /**
+     * Fills an empty counter and drains it again, as a network inventory does while items move in and out.
+     */
+    @Benchmark
+    public int churn() {
+        var counter = churnCounter;
+        for (int i = 0; i < keys.length; i++) {
+            counter.add(keys[i], 1 + i % 64);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            counter.remove(keys[i], 1 + i % 64);
+        }
+        counter.removeZeros();
+        return counter.size();
+    }
+
+    @Benchmark
+    public long get() {
+        long total = 0;
+        for (var key : keys) {
+            total += filledCounter.get(key);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public void findFuzzy(Blackhole blackhole) {
+        for (var query : fuzzyQueries) {
+            for (var entry : filledCounter.findFuzzy(query, FuzzyMode.PERCENT_50)) {
+                blackhole.consume(entry.getLongValue());
+            }
+        }
+    }
+
+    /**
+     * Steps through the same fuzzy candidates one at a time, as the export bus does.
+     */
+    @Benchmark
+    public void stepFuzzy(Blackhole blackhole) {
+        for (var query : fuzzyQueries) {
+            var candidate = filledCounter.findFuzzyFrom(query, FuzzyMode.PERCENT_50, null);
+            while (candidate != null) {
+                blackhole.consume(candidate);
+                candidate = filledCounter.findFuzzyAfter(query, FuzzyMode.PERCENT_50, candidate);
+            }
+        }
+    }
+
+    private static AEItemKey nameTag(int i) {
+        var is = new ItemStack(Items.NAME_TAG);
+        is.set(DataComponents.CUSTOM_NAME, Component.literal("key" + i));
+        return AEItemKey.of(is);
+    }
+
+    /**
+     * Swords with distinct names and damage values spread across their durability.
+     */
+    private static AEItemKey diamondSword(int i) {
+        var is = new ItemStack(Items.DIAMOND_SWORD);
+        is.set(DataComponents.CUSTOM_NAME, Component.literal("key" + i));
+        is.setDamageValue(i % is.getMaxDamage());
+        return AEItemKey.of(is);
+    }
+}
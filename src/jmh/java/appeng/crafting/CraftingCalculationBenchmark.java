@@ -0,0 +1,97 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Items;
+
+import appeng.api.networking.crafting.CalculationStrategy;
+import appeng.api.networking.crafting.ICraftingPlan;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.GenericStack;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.crafting.simulation.helpers.SimulationEnv;
+
+/**
+ * Plans a craft through a deep chain of intermediates. Every intermediate can either be made from the previous one
+ * plus a shared ingredient, or from an alternative ingredient that is only stocked for part of the request, so the
+ * calculation has to split the request across multiple paths at every level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CraftingCalculationBenchmark {
+    private static final long REQUESTED_AMOUNT = 1000;
+
+    @Param({ "8", "32" })
+    int depth;
+
+    private SimulationEnv env;
+    private GenericStack request;
+
+    @Setup
+    public void setup() {
+        var items = BuiltInRegistries.ITEM.stream()
+                .filter(item -> item != Items.AIR && item != Items.COBBLESTONE)
+                .limit(2L * depth + 1)
+                .map(AEItemKey::of)
+                .toArray(AEKey[]::new);
+        var shared = AEItemKey.of(Items.COBBLESTONE);
+
+        env = new SimulationEnv();
+        env.addStoredItem(items[0], 1_000_000_000L);
+        env.addStoredItem(shared, 1_000_000_000L);
+
+        for (int i = 1; i <= depth; i++) {
+            var output = new GenericStack(items[i], 1);
+            var alternative = items[depth + i];
+            env.addPattern(new ProcessingPatternBuilder(output)
+                    .addPreciseInput(1, new GenericStack(items[i - 1], 1))
+                    .addPreciseInput(1, new GenericStack(shared, 1))
+                    .build());
+            env.addPattern(new ProcessingPatternBuilder(output)
+                    .addPreciseInput(1, new GenericStack(alternative, 1))
+                    .build());
+            env.addStoredItem(alternative, REQUESTED_AMOUNT / 4);
+        }
+
+        request = new GenericStack(items[depth], REQUESTED_AMOUNT);
+    }
+
+    @Benchmark
+    public ICraftingPlan plan() {
+        return env.createCalculation(request, CalculationStrategy.REPORT_MISSING_ITEMS).run();
+    }
+}
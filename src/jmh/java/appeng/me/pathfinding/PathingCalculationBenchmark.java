@@ -0,0 +1,96 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.pathfinding;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.server.level.ServerLevel;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridNodeListener;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+
+/**
+ * A full channel assignment for a grid of 10,000 nodes: 100 dense cables attached to a controller, each branching into 9
+ * cables that carry 10 devices requiring a channel each.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PathingCalculationBenchmark {
+    private static final int DENSE_CABLES = 100;
+    private static final int CABLES_PER_DENSE_CABLE = 9;
+    private static final int DEVICES_PER_CABLE = 10;
+
+    private ServerLevel level;
+    private IGridNodeListener<Object> listener;
+    private IGrid grid;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        level = mock(ServerLevel.class);
+        listener = mock(IGridNodeListener.class);
+
+        // The pathing calculation finds the controllers by the class of their owner
+        var controller = makeNode(mock(ControllerBlockEntity.class), GridFlags.CANNOT_CARRY,
+                GridFlags.DENSE_CAPACITY);
+        for (int i = 0; i < DENSE_CABLES; i++) {
+            var denseCable = makeNode(new Object(), GridFlags.DENSE_CAPACITY);
+            GridConnection.create(controller, denseCable, null);
+            for (int j = 0; j < CABLES_PER_DENSE_CABLE; j++) {
+                var cable = makeNode(new Object(), GridFlags.PREFERRED);
+                GridConnection.create(denseCable, cable, null);
+                for (int k = 0; k < DEVICES_PER_CABLE; k++) {
+                    GridConnection.create(cable, makeNode(new Object(), GridFlags.REQUIRE_CHANNEL), null);
+                }
+            }
+        }
+        grid = controller.getGrid();
+    }
+
+    private GridNode makeNode(Object owner, GridFlags... flags) {
+        return new GridNode(level, owner, listener, Set.of(flags));
+    }
+
+    @Benchmark
+    public int repath() {
+        var calculation = new PathingCalculation(grid);
+        calculation.compute();
+        return calculation.getChannelsInUse();
+    }
+}
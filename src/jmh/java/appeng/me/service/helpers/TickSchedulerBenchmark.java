@@ -0,0 +1,148 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.service.helpers;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.ticking.IGridTickable;
+import appeng.api.networking.ticking.TickingRequest;
+
+/**
+ * One server tick of the grid tick queue: ticking every tracker that is due, and waking up a few trackers as if their
+ * nodes had been alerted. Compares the {@link TickScheduler} with the priority queue that the tick manager used before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TickSchedulerBenchmark {
+    private static final int MAX_TICK_RATE = 40;
+    private static final int ALERTS_PER_TICK = 32;
+
+    @Param({ "1000", "10000" })
+    int trackerCount;
+
+    private TickTracker[] trackers;
+    private int[] alertOrder;
+    private int nextAlert;
+    private long currentTick;
+
+    private TickScheduler scheduler;
+    private PriorityQueue<TickTracker> priorityQueue;
+
+    @Setup
+    public void setup() {
+        var random = new Random(1234);
+        var node = mock(IGridNode.class);
+        var tickable = mock(IGridTickable.class);
+
+        trackers = new TickTracker[trackerCount];
+        for (int i = 0; i < trackerCount; i++) {
+            var rate = 1 + random.nextInt(MAX_TICK_RATE);
+            trackers[i] = new TickTracker(new TickingRequest(1, rate, false, rate), node, tickable,
+                    -random.nextInt(rate));
+        }
+
+        alertOrder = new int[trackerCount];
+        for (int i = 0; i < trackerCount; i++) {
+            alertOrder[i] = random.nextInt(trackerCount);
+        }
+
+        // Trackers can only be in one scheduler, but they can be in both of these since only one benchmark runs per
+        // setup
+        scheduler = new TickScheduler(0);
+        priorityQueue = new PriorityQueue<>();
+        for (var tracker : trackers) {
+            scheduler.add(tracker);
+            priorityQueue.add(tracker);
+        }
+    }
+
+    @Benchmark
+    public int timingWheel() {
+        currentTick++;
+        int ticked = 0;
+
+        scheduler.advanceTo(currentTick);
+        TickTracker tt;
+        while ((tt = scheduler.pollDue()) != null) {
+            tick(tt);
+            scheduler.add(tt);
+            ticked++;
+        }
+
+        for (int i = 0; i < ALERTS_PER_TICK; i++) {
+            tt = nextAlerted();
+            scheduler.remove(tt);
+            tt.setTickOnNextTick();
+            scheduler.add(tt);
+        }
+        return ticked;
+    }
+
+    @Benchmark
+    public int priorityQueue() {
+        currentTick++;
+        int ticked = 0;
+
+        TickTracker tt;
+        while ((tt = priorityQueue.peek()) != null && tt.getNextTick() <= currentTick) {
+            priorityQueue.poll();
+            tick(tt);
+            priorityQueue.add(tt);
+            ticked++;
+        }
+
+        for (int i = 0; i < ALERTS_PER_TICK; i++) {
+            tt = nextAlerted();
+            priorityQueue.remove(tt);
+            tt.setTickOnNextTick();
+            priorityQueue.add(tt);
+        }
+        return ticked;
+    }
+
+    private void tick(TickTracker tt) {
+        tt.setLastTick(currentTick);
+        tt.setCurrentRate(tt.getRequest().maxTickRate());
+    }
+
+    private TickTracker nextAlerted() {
+        var tt = trackers[alertOrder[nextAlert]];
+        nextAlert = (nextAlert + 1) % alertOrder.length;
+        return tt;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.storage;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.Actionable;
+import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.MEStorage;
+import appeng.me.helpers.BaseActionSource;
+
+/**
+ * Inserting into and extracting from a {@link NetworkStorage} with 500 mounted inventories, most of which are
+ * partitioned to a single key and prioritized over the rest, followed by the poll for changes that the storage service
+ * does every tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NetworkStorageBenchmark {
+    private static final int MOUNTS = 500;
+    private static final int UNPARTITIONED_MOUNTS = 100;
+    private static final int KEYS = 256;
+    private static final int PRIORITIES = 5;
+
+    /**
+     * Whether the mounts report their changes, or have to be polled by the network storage.
+     */
+    @Param({ "true", "false" })
+    boolean reportsChanges;
+
+    private final IActionSource src = new BaseActionSource();
+    private AEKey[] keys;
+    private NetworkStorage storage;
+
+    @Setup
+    public void setup() {
+        keys = BuiltInRegistries.ITEM.stream()
+                .filter(item -> item != Items.AIR)
+                .limit(KEYS)
+                .map(AEItemKey::of)
+                .toArray(AEKey[]::new);
+
+        storage = new NetworkStorage();
+        for (int i = 0; i < MOUNTS; i++) {
+            var partition = i < UNPARTITIONED_MOUNTS ? null : keys[i % KEYS];
+            var mount = reportsChanges ? new ReportingStorage(partition) : new PartitionedStorage(partition);
+            if (partition != null) {
+                mount.insert(partition, 1000, Actionable.MODULATE, src);
+            }
+            // Partitioned storage usually has a higher priority than the overflow storage
+            storage.mount(partition != null ? 1 + i % PRIORITIES : 0, mount);
+        }
+        storage.pollAvailableStackChanges((what, delta) -> {
+        });
+    }
+
+    @Benchmark
+    public long insertExtract(Blackhole blackhole) {
+        long moved = 0;
+        for (var key : keys) {
+            moved += storage.insert(key, 64, Actionable.MODULATE, src);
+        }
+        for (var key : keys) {
+            moved += storage.extract(key, 64, Actionable.MODULATE, src);
+        }
+        storage.pollAvailableStackChanges((what, delta) -> blackhole.consume(delta));
+        return moved;
+    }
+
+    @Benchmark
+    public long simulateInsert() {
+        long inserted = 0;
+        for (var key : keys) {
+            inserted += storage.insert(key, 64, Actionable.SIMULATE, src);
+        }
+        return inserted;
+    }
+
+    /**
+     * A storage that is partitioned to a single key, or accepts everything if it isn't partitioned.
+     */
+    private static class PartitionedStorage implements MEStorage {
+        private static final long CAPACITY = 1_000_000;
+
+        @Nullable
+        private final AEKey partition;
+        private final KeyCounter stored = new KeyCounter();
+        private long storedAmount;
+
+        PartitionedStorage(@Nullable AEKey partition) {
+            this.partition = partition;
+        }
+
+        @Override
+        public boolean isPreferredStorageFor(AEKey what, IActionSource source) {
+            return what.equals(partition);
+        }
+
+        @Override
+        public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
+            if (partition != null && !what.equals(partition)) {
+                return 0;
+            }
+
+            var inserted = Math.min(amount, CAPACITY - storedAmount);
+            if (inserted > 0 && mode == Actionable.MODULATE) {
+                stored.add(what, inserted);
+                storedAmount += inserted;
+                onStackChange(what, inserted);
+            }
+            return inserted;
+        }
+
+        @Override
+        public long extract(AEKey what, long amount, Actionable mode, IActionSource source) {
+            var extracted = Math.min(amount, stored.get(what));
+            if (extracted > 0 && mode == Actionable.MODULATE) {
+                stored.remove(what, extracted);
+                if (stored.get(what) == 0) {
+                    stored.remove(what);
+                }
+                storedAmount -= extracted;
+                onStackChange(what, -extracted);
+            }
+            return extracted;
+        }
+
+        @Override
+        public void getAvailableStacks(KeyCounter out) {
+            out.addAll(stored);
+        }
+
+        @Override
+        public Component getDescription() {
+            return Component.literal("Benchmark storage");
+        }
+
+        protected void onStackChange(AEKey what, long delta) {
+        }
+    }
+
+    private static class ReportingStorage extends PartitionedStorage implements IChangeReportingStorage {
+        @Nullable
+        private IStorageChangeListener listener;
+
+        ReportingStorage(@Nullable AEKey partition) {
+            super(partition);
+        }
+
+        @Override
+        public boolean setChangeListener(@Nullable IStorageChangeListener listener) {
+            this.listener = listener;
+            return true;
+        }
+
+        @Override
+        protected void onStackChange(AEKey what, long delta) {
+            if (listener != null) {
+                listener.onStackChange(what, delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.spatial;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.chunk.PalettedContainerRO;
+
+import appeng.api.ids.AETags;
+import appeng.core.definitions.AEBlocks;
+
+/**
+ * Swapping the blocks of two spatial regions, either block by block or by exchanging the block state containers of
+ * fully covered sections, as {@link CachedPlane#swap} does. A {@link CachedPlane} requires a loaded level, so this
+ * operates on detached chunk sections instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SectionSwapBenchmark {
+    private static final BlockState[] PALETTE = {
+            Blocks.AIR.defaultBlockState(),
+            Blocks.STONE.defaultBlockState(),
+            Blocks.DIRT.defaultBlockState(),
+            Blocks.DEEPSLATE.defaultBlockState(),
+            Blocks.IRON_ORE.defaultBlockState(),
+            Blocks.OAK_LOG.defaultBlockState()
+    };
+
+    /**
+     * Edge length of the region, i.e. the size of a spatial storage cell.
+     */
+    @Param({ "16", "64", "128" })
+    int size;
+
+    private BlockState matrixBlockState;
+    private LevelChunkSection[] srcSections;
+    private LevelChunkSection[] dstSections;
+
+    @Setup
+    public void setup() {
+        matrixBlockState = AEBlocks.MATRIX_FRAME.block().defaultBlockState();
+
+        var random = new Random(1234);
+        var sectionCount = size / LevelChunkSection.SECTION_WIDTH;
+        sectionCount = sectionCount * sectionCount * sectionCount;
+        srcSections = new LevelChunkSection[sectionCount];
+        dstSections = new LevelChunkSection[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            srcSections[i] = createSection(random);
+            dstSections[i] = createSection(random);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LevelChunkSection createSection(Random random) {
+        var states = new PalettedContainer<>(Block.BLOCK_STATE_REGISTRY, Blocks.AIR.defaultBlockState(),
+                PalettedContainer.Strategy.SECTION_STATES);
+        for (int x = 0; x < LevelChunkSection.SECTION_WIDTH; x++) {
+            for (int y = 0; y < LevelChunkSection.SECTION_HEIGHT; y++) {
+                for (int z = 0; z < LevelChunkSection.SECTION_WIDTH; z++) {
+                    states.set(x, y, z, PALETTE[random.nextInt(PALETTE.length)]);
+                }
+            }
+        }
+        return new LevelChunkSection(states, mock(PalettedContainerRO.class));
+    }
+
+    @Benchmark
+    public LevelChunkSection[] perBlock() {
+        for (int i = 0; i < srcSections.length; i++) {
+            var srcSection = srcSections[i];
+            var dstSection = dstSections[i];
+            for (int x = 0; x < LevelChunkSection.SECTION_WIDTH; x++) {
+                for (int y = 0; y < LevelChunkSection.SECTION_HEIGHT; y++) {
+                    for (int z = 0; z < LevelChunkSection.SECTION_WIDTH; z++) {
+                        var srcState = srcSection.getBlockState(x, y, z);
+                        if (srcState == matrixBlockState) {
+                            srcState = Blocks.AIR.defaultBlockState();
+                        }
+                        var dstState = dstSection.getBlockState(x, y, z);
+                        if (dstState == matrixBlockState) {
+                            dstState = Blocks.AIR.defaultBlockState();
+                        }
+
+                        srcSection.setBlockState(x, y, z, dstState);
+                        dstSection.setBlockState(x, y, z, srcState);
+                    }
+                }
+            }
+        }
+        return srcSections;
+    }
+
+    @Benchmark
+    public LevelChunkSection[] sectionSwap() {
+        for (int i = 0; i < srcSections.length; i++) {
+            var srcSection = srcSections[i];
+            var dstSection = dstSections[i];
+            if (!canMoveSection(srcSection) || !canMoveSection(dstSection)) {
+                continue;
+            }
+
+            srcSections[i] = new LevelChunkSection(dstSection.getStates(), srcSection.getBiomes());
+            dstSections[i] = new LevelChunkSection(srcSection.getStates(), dstSection.getBiomes());
+        }
+        return srcSections;
+    }
+
+    private boolean canMoveSection(LevelChunkSection section) {
+        return !section.getStates().maybeHas(state -> state == matrixBlockState
+                || state.is(AETags.SPATIAL_BLACKLIST));
+    }
+}
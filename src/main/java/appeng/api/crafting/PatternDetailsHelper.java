@@ -87,6 +87,14 @@ public static boolean isEncodedPattern(ItemStack stack) {
 
     @Nullable
     public static IPatternDetails decodePattern(AEItemKey what, Level level) {
+        if (what == null || level == null) {
+            return decodePatternUncached(what, level);
+        }
+        return DecodedPatternCache.get(what, level, PatternDetailsHelper::decodePatternUncached);
+    }
+
+    @Nullable
+    private static IPatternDetails decodePatternUncached(AEItemKey what, Level level) {
         for (var decoder : DECODERS) {
             var decoded = decoder.decodePattern(what, level);
             if (decoded != null) {
@@ -98,6 +106,11 @@ public static IPatternDetails decodePattern(AEItemKey what, Level level) {
 
     @Nullable
     public static IPatternDetails decodePattern(ItemStack stack, Level level) {
+        var what = AEItemKey.of(stack);
+        if (what != null && level != null) {
+            return decodePattern(what, level);
+        }
+
         for (var decoder : DECODERS) {
             var decoded = decoder.decodePattern(stack, level);
             if (decoded != null) {
@@ -89,9 +89,7 @@ public static <T extends GridEvent> void addEventHandler(Class<T> eventClass, Bi
     public static <T extends GridEvent, C extends IGridService> void addGridServiceEventHandler(Class<T> eventClass,
             Class<C> cacheClass,
             BiConsumer<C, T> eventHandler) {
-        addEventHandler(eventClass, (grid, event) -> {
-            eventHandler.accept(grid.getService(cacheClass), event);
-        });
+        GridEventBus.subscribeService(eventClass, cacheClass, eventHandler);
     }
 
     /**
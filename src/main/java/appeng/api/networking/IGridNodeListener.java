@@ -63,6 +63,16 @@ default void onGridChanged(T nodeOwner, IGridNode node) {
     default void onStateChanged(T nodeOwner, IGridNode node, State state) {
     }
 
+    /**
+     * Indicates whether nodes using this listener need to be notified via {@link #onStateChanged} when the state
+     * changes for the entire grid at once, i.e. when the grid starts or finishes booting. Grids only keep track of the
+     * nodes that are interested in such a state, instead of notifying every node. Checked once when the node joins a
+     * grid.
+     */
+    default boolean isInterestedIn(State state) {
+        return true;
+    }
+
     /**
      * Gives a reason for why the active state of the node might have changed.
      */
@@ -46,20 +46,37 @@ public final class AEFluidKey extends AEKey {
                     DataComponentPatch.CODEC.optionalFieldOf("components", DataComponentPatch.EMPTY)
                             .forGetter(key -> key.stack.getPatch()))
                     .apply(instance, (fluidHolder,
-                            dataComponentPatch) -> new AEFluidKey(
-                                    FluidStack.create(fluidHolder, 1, dataComponentPatch))));
+                            dataComponentPatch) -> intern(
+                                    FluidStack.create(fluidHolder, 1, dataComponentPatch), false)));
     public static final Codec<AEFluidKey> CODEC = MAP_CODEC.codec();
 
     public static final int AMOUNT_BUCKET = (int) BUCKET; // что они употребляют в этой фабрике мц? можно мне тоже?
     public static final int AMOUNT_BLOCK = (int) BLOCK;
 
+    /**
+     * All fluid keys are interned, which makes equal keys identical.
+     */
+    private static final KeyInterner<AEFluidKey, FluidStack> INTERNER = new KeyInterner<>(
+            (key, stack) -> key.stack.getFluid() == stack.getFluid() && key.stack.isComponentEqual(stack));
+
     private final FluidStack stack;
     private final int hashCode;
 
-    private AEFluidKey(FluidStack stack) {
+    private AEFluidKey(FluidStack stack, int hashCode) {
         Preconditions.checkArgument(!stack.isEmpty(), "stack was empty");
         this.stack = stack;
-        this.hashCode = stack.hashCode();
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Returns the canonical key for the given stack.
+     *
+     * @param copy Whether the stack has to be copied if it's used for a new key, because the caller still owns it.
+     */
+    private static AEFluidKey intern(FluidStack stack, boolean copy) {
+        var hashCode = 31 * stack.getFluid().hashCode() + stack.getPatch().hashCode();
+        return INTERNER.intern(hashCode, stack,
+                s -> new AEFluidKey(copy || s.getAmount() != 1 ? s.copyWithAmount(1) : s, hashCode));
     }
 
     public static AEFluidKey of(Fluid fluid) {
@@ -71,7 +88,7 @@ public static AEFluidKey of(FluidStack fluidVariant) {
         if (fluidVariant.isEmpty()) {
             return null;
         }
-        return new AEFluidKey(fluidVariant.copyWithAmount(1));
+        return intern(fluidVariant, true);
     }
 
     public static boolean matches(AEKey what, FluidStack fluid) {
@@ -104,11 +121,8 @@ public AEFluidKey dropSecondary() {
     public boolean equals(Object o) {
         if (this == o)
             return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        AEFluidKey aeFluidKey = (AEFluidKey) o;
-        // The hash code comparison is a fast-fail cheap check
-        return hashCode == aeFluidKey.hashCode && stack.isComponentEqual(aeFluidKey.stack);
+        // Keys are interned, so equal keys are always the same instance
+        return false;
     }
 
     @Override
@@ -192,7 +206,7 @@ public void writeToPacket(RegistryFriendlyByteBuf data) {
 
     public static AEFluidKey fromPacket(RegistryFriendlyByteBuf data) {
         var stack = FluidStack.STREAM_CODEC.decode(data);
-        return new AEFluidKey(stack);
+        return intern(stack, false);
     }
 
     public static boolean is(@Nullable GenericStack stack) {
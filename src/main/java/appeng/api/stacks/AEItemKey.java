@@ -47,18 +47,24 @@ public final class AEItemKey extends AEKey {
                             .fieldOf("id").forGetter(key -> key.stack.getItemHolder()),
                     DataComponentPatch.CODEC.optionalFieldOf("components", DataComponentPatch.EMPTY)
                             .forGetter(key -> key.stack.getComponentsPatch()))
-                    .apply(builder, (item, componentPatch) -> new AEItemKey(new ItemStack(item, 1, componentPatch))));
+                    .apply(builder, (item, componentPatch) -> intern(new ItemStack(item, 1, componentPatch), false)));
     public static final Codec<AEItemKey> CODEC = MAP_CODEC.codec();
 
+    /**
+     * All item keys are interned, which makes equal keys identical.
+     */
+    private static final KeyInterner<AEItemKey, ItemStack> INTERNER = new KeyInterner<>(
+            (key, stack) -> ItemStack.isSameItemSameComponents(key.stack, stack));
+
     private final ItemStack stack;
     private final int hashCode;
     private final int maxStackSize;
     private final int damage;
 
-    private AEItemKey(ItemStack stack) {
+    private AEItemKey(ItemStack stack, int hashCode) {
         Preconditions.checkArgument(!stack.isEmpty(), "stack is empty");
         this.stack = stack;
-        this.hashCode = ItemStack.hashItemAndComponents(stack);
+        this.hashCode = hashCode;
         this.maxStackSize = stack.getMaxStackSize();
         this.damage = stack.getDamageValue();
     }
@@ -69,7 +75,18 @@ public static AEItemKey of(ItemStack stack) {
             return null;
         }
 
-        return new AEItemKey(stack.copy());
+        return intern(stack, true);
+    }
+
+    /**
+     * Returns the canonical key for the given stack.
+     *
+     * @param copy Whether the stack has to be copied if it's used for a new key, because the caller still owns it.
+     */
+    private static AEItemKey intern(ItemStack stack, boolean copy) {
+        var hashCode = ItemStack.hashItemAndComponents(stack);
+        return INTERNER.intern(hashCode, stack,
+                s -> new AEItemKey(copy || s.getCount() != 1 ? s.copyWithCount(1) : s, hashCode));
     }
 
     public static boolean matches(AEKey what, ItemStack itemStack) {
@@ -98,11 +115,8 @@ public AEItemKey dropSecondary() {
     public boolean equals(Object o) {
         if (this == o)
             return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        AEItemKey aeItemKey = (AEItemKey) o;
-        // The hash code comparison is a fast-fail cheap check
-        return this.hashCode == aeItemKey.hashCode && ItemStack.isSameItemSameComponents(stack, aeItemKey.stack);
+        // Keys are interned, so equal keys are always the same instance
+        return false;
     }
 
     @Override
@@ -256,7 +270,7 @@ public void writeToPacket(RegistryFriendlyByteBuf data) {
 
     public static AEItemKey fromPacket(RegistryFriendlyByteBuf data) {
         var stack = ItemStack.STREAM_CODEC.decode(data);
-        return new AEItemKey(stack);
+        return intern(stack, false);
     }
 
     @Override
@@ -4,7 +4,6 @@
 
 import it.unimi.dsi.fastutil.objects.Object2LongAVLTreeMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
-import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 
 /**
  * Custom extension to expose the increment function in a polymorphic way. We don't want to use
@@ -20,9 +19,6 @@ interface AEKey2LongMap extends Object2LongMap<AEKey> {
     @SuppressWarnings("UnusedReturnValue")
     long addTo(AEKey k, long incr);
 
-    final class OpenHashMap extends Object2LongOpenHashMap<AEKey> implements AEKey2LongMap {
-    }
-
     final class AVLTreeMap extends Object2LongAVLTreeMap<AEKey> implements AEKey2LongMap {
         public AVLTreeMap(Comparator<? super AEKey> c) {
             super(c);
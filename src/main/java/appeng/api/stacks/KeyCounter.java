@@ -29,7 +29,9 @@
 
 import org.jetbrains.annotations.Nullable;
 
+import it.unimi.dsi.fastutil.HashCommon;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 
@@ -37,18 +39,121 @@
 
 /**
  * Associates a generic value of type T with AE keys and makes key/value pairs searchable with fuzzy mode semantics.
+ * <p/>
+ * Most keys don't support fuzzy range searches and usually have only a single variant per primary key. Those keys are
+ * stored densely: each key gets an int slot, its amount is stored in a primitive array, and an open-addressing table
+ * maps keys to their slot. Variants of the same primary key are chained through their slots. Only keys that support
+ * fuzzy range searches are stored in a sorted map per primary key.
  */
 public final class KeyCounter implements Iterable<Object2LongMap.Entry<AEKey>> {
-    // First map contains a mapping from AEKey#primaryKey
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final AEKey[] NO_KEYS = new AEKey[0];
+    private static final long[] NO_AMOUNTS = new long[0];
+    private static final int[] NO_SLOTS = new int[0];
+
+    // Dense storage for keys that do not support fuzzy range searches, indexed by slot
+    private AEKey[] keys = NO_KEYS;
+    private long[] amounts = NO_AMOUNTS;
+    // Links between the slots of variants that share a primary key
+    private int[] nextVariant = NO_SLOTS;
+    private int[] prevVariant = NO_SLOTS;
+    private int size;
+    /**
+     * Open-addressing hash table that contains slot + 1 for each key, or 0 for free positions. Its length is a power of
+     * two.
+     */
+    private int[] table = NO_SLOTS;
+    // First slot for each primary key
+    private final Reference2IntOpenHashMap<Object> firstVariant = new Reference2IntOpenHashMap<>();
+
+    // Maps AEKey#primaryKey to the variants of keys that support fuzzy range searches
     private final Reference2ObjectMap<Object, VariantCounter> lists = new Reference2ObjectOpenHashMap<>();
 
+    public KeyCounter() {
+        firstVariant.defaultReturnValue(NONE);
+    }
+
     public Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey key, FuzzyMode fuzzy) {
         Objects.requireNonNull(key, "key");
-        var subIndex = getSubIndexOrNull(key);
-        return subIndex == null ? List.of() : subIndex.findFuzzy(key, fuzzy);
+        if (key.getFuzzySearchMaxValue() > 0) {
+            var subIndex = lists.get(key.getPrimaryKey());
+            return subIndex == null ? List.of() : subIndex.findFuzzy(key, fuzzy);
+        }
+
+        // Keys that don't support fuzzy range searches match all variants, which amounts to ignoring NBT
+        var slot = firstVariant.getInt(key.getPrimaryKey());
+        if (slot == NONE) {
+            return List.of();
+        } else if (nextVariant[slot] == NONE) {
+            return List.of(new Entry(slot));
+        }
+        var result = new ArrayList<Object2LongMap.Entry<AEKey>>();
+        for (; slot != NONE; slot = nextVariant[slot]) {
+            result.add(new Entry(slot));
+        }
+        return result;
+    }
+
+    /**
+     * Steps through the variants that {@link #findFuzzy} would return without copying them, so that callers can stop
+     * early and resume from a variant later on. The order of the variants is stable as long as they are present.
+     *
+     * @param from The variant to start from, or null to start from the first matching variant. If it is no longer
+     *             present or doesn't match, the search also starts from the first matching variant.
+     * @return The first matching variant at or after {@code from}, or null if there is none.
+     */
+    @Nullable
+    public AEKey findFuzzyFrom(AEKey key, FuzzyMode fuzzy, @Nullable AEKey from) {
+        return findNextFuzzy(key, fuzzy, from, true);
+    }
+
+    /**
+     * @return The matching variant following {@code after}, or null if there is none, or if {@code after} is no longer
+     *         present and its position can't be determined.
+     * @see #findFuzzyFrom
+     */
+    @Nullable
+    public AEKey findFuzzyAfter(AEKey key, FuzzyMode fuzzy, AEKey after) {
+        return findNextFuzzy(key, fuzzy, Objects.requireNonNull(after, "after"), false);
+    }
+
+    @Nullable
+    private AEKey findNextFuzzy(AEKey key, FuzzyMode fuzzy, @Nullable AEKey from, boolean inclusive) {
+        Objects.requireNonNull(key, "key");
+        if (from != null && from.getPrimaryKey() != key.getPrimaryKey()) {
+            if (!inclusive) {
+                return null;
+            }
+            from = null;
+        }
+
+        if (key.getFuzzySearchMaxValue() > 0) {
+            var subIndex = lists.get(key.getPrimaryKey());
+            return subIndex == null ? null : subIndex.findNextFuzzy(key, fuzzy, from, inclusive);
+        }
+
+        // Keys that don't support fuzzy range searches match all variants, which are chained through their slots
+        var slot = from != null ? findSlot(from) : NONE;
+        if (slot == NONE) {
+            if (from != null && !inclusive) {
+                return null;
+            }
+            slot = firstVariant.getInt(key.getPrimaryKey());
+        } else if (!inclusive) {
+            slot = nextVariant[slot];
+        }
+        return slot == NONE ? null : keys[slot];
     }
 
     public void removeZeros() {
+        // Iterate backwards, so that the slot moved into a removed slot has already been checked
+        for (int slot = size - 1; slot >= 0; slot--) {
+            if (amounts[slot] == 0) {
+                removeSlot(slot);
+            }
+        }
+
         var iterator = lists.entrySet().iterator();
         while (iterator.hasNext()) {
             var entry = iterator.next();
@@ -61,6 +166,14 @@ public void removeZeros() {
     }
 
     public void addAll(KeyCounter other) {
+        if (size == 0 && other.size > 0) {
+            copyDenseFrom(other);
+        } else {
+            for (int slot = 0; slot < other.size; slot++) {
+                add(other.keys[slot], other.amounts[slot]);
+            }
+        }
+
         for (var entry : other.lists.entrySet()) {
             var ourSubIndex = lists.get(entry.getKey());
             if (ourSubIndex == null) {
@@ -72,6 +185,10 @@ public void addAll(KeyCounter other) {
     }
 
     public void removeAll(KeyCounter other) {
+        for (int slot = 0; slot < other.size; slot++) {
+            add(other.keys[slot], -other.amounts[slot]);
+        }
+
         for (var entry : other.lists.entrySet()) {
             var ourSubIndex = lists.get(entry.getKey());
             if (ourSubIndex == null) {
@@ -86,7 +203,11 @@ public void removeAll(KeyCounter other) {
 
     public void add(AEKey key, long amount) {
         Objects.requireNonNull(key, "key");
-        getSubIndex(key).add(key, amount);
+        if (key.getFuzzySearchMaxValue() > 0) {
+            getSubIndex(key).add(key, amount);
+        } else {
+            amounts[getOrCreateSlot(key)] += amount;
+        }
     }
 
     /**
@@ -100,40 +221,70 @@ public void remove(AEKey key, long amount) {
      * Removes the given key from this counter, and returns the old value (or 0).
      */
     public long remove(AEKey key) {
-        var subIndex = getSubIndex(key);
-        var ret = subIndex.remove(key);
-        if (subIndex.isEmpty()) {
-            lists.remove(key.getPrimaryKey());
+        if (key.getFuzzySearchMaxValue() > 0) {
+            var subIndex = getSubIndex(key);
+            var ret = subIndex.remove(key);
+            if (subIndex.isEmpty()) {
+                lists.remove(key.getPrimaryKey());
+            }
+            return ret;
         }
+
+        var slot = findSlot(key);
+        if (slot == NONE) {
+            return 0;
+        }
+        var ret = amounts[slot];
+        removeSlot(slot);
         return ret;
     }
 
     public void set(AEKey key, long amount) {
-        getSubIndex(key).set(key, amount);
+        if (key.getFuzzySearchMaxValue() > 0) {
+            getSubIndex(key).set(key, amount);
+        } else {
+            amounts[getOrCreateSlot(key)] = amount;
+        }
     }
 
     public long get(AEKey key) {
         Objects.requireNonNull(key);
-        var subIndex = lists.get(key.getPrimaryKey());
-        if (subIndex == null) {
-            return 0;
+        if (key.getFuzzySearchMaxValue() > 0) {
+            var subIndex = lists.get(key.getPrimaryKey());
+            if (subIndex == null) {
+                return 0;
+            }
+            return subIndex.get(key);
         }
-        return subIndex.get(key);
+
+        var slot = findSlot(key);
+        return slot == NONE ? 0 : amounts[slot];
     }
 
     public void reset() {
+        Arrays.fill(amounts, 0, size, 0);
         for (var list : lists.values()) {
             list.reset();
         }
     }
 
     public void clear() {
+        if (size > 0) {
+            // Keep the allocated capacity, since counters are usually refilled right away
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(table, 0);
+            firstVariant.clear();
+            size = 0;
+        }
         for (var list : lists.values()) {
             list.clear();
         }
     }
 
     public boolean isEmpty() {
+        if (size > 0) {
+            return false;
+        }
         for (var list : lists.values()) {
             if (!list.isEmpty()) {
                 return false;
@@ -143,7 +294,7 @@ public boolean isEmpty() {
     }
 
     public int size() {
-        int tot = 0;
+        int tot = size;
         for (var list : lists.values()) {
             tot += list.size();
         }
@@ -152,22 +303,16 @@ public int size() {
 
     @Override
     public Iterator<Object2LongMap.Entry<AEKey>> iterator() {
-        return Iterators.concat(
-                Iterators.transform(lists.values().iterator(), VariantCounter::iterator));
-    }
-
-    private VariantCounter getSubIndex(AEKey key) {
-        // We check before the call to computeIfAbsent, otherwise we'd need a capturing lambda.
-        if (key.getFuzzySearchMaxValue() > 0) {
-            return lists.computeIfAbsent(key.getPrimaryKey(), k -> new VariantCounter.FuzzyVariantMap());
-        } else {
-            return lists.computeIfAbsent(key.getPrimaryKey(), k -> new VariantCounter.UnorderedVariantMap());
+        var denseIterator = new DenseIterator();
+        if (lists.isEmpty()) {
+            return denseIterator;
         }
+        return Iterators.concat(denseIterator,
+                Iterators.concat(Iterators.transform(lists.values().iterator(), VariantCounter::iterator)));
     }
 
-    @Nullable
-    private VariantCounter getSubIndexOrNull(AEKey key) {
-        return lists.get(key.getPrimaryKey());
+    private VariantCounter getSubIndex(AEKey key) {
+        return lists.computeIfAbsent(key.getPrimaryKey(), k -> new VariantCounter.FuzzyVariantMap());
     }
 
     @Nullable
@@ -184,6 +329,9 @@ public <T extends AEKey> T getFirstKey(Class<T> keyClass) {
 
     @Nullable
     public Object2LongMap.Entry<AEKey> getFirstEntry() {
+        if (size > 0) {
+            return new Entry(0);
+        }
         for (var value : lists.values()) {
             var it = value.iterator();
             if (it.hasNext()) {
@@ -195,6 +343,11 @@ public Object2LongMap.Entry<AEKey> getFirstEntry() {
 
     @Nullable
     public <T extends AEKey> Object2LongMap.Entry<AEKey> getFirstEntry(Class<T> keyClass) {
+        for (int slot = 0; slot < size; slot++) {
+            if (keyClass.isInstance(keys[slot])) {
+                return new Entry(slot);
+            }
+        }
         for (var value : lists.values()) {
             var it = value.iterator();
             if (it.hasNext()) {
@@ -209,6 +362,7 @@ public <T extends AEKey> Object2LongMap.Entry<AEKey> getFirstEntry(Class<T> keyC
 
     public Set<AEKey> keySet() {
         var keys = new HashSet<AEKey>(size());
+        keys.addAll(Arrays.asList(this.keys).subList(0, size));
         for (var list : lists.values()) {
             for (var entry : list) {
                 keys.add(entry.getKey());
@@ -216,4 +370,250 @@ public Set<AEKey> keySet() {
         }
         return keys;
     }
+
+    private static int getHash(AEKey key) {
+        return HashCommon.mix(key.hashCode());
+    }
+
+    /**
+     * @return The position of the key in {@link #table}, or the free position it would be inserted at.
+     */
+    private int findPosition(AEKey key) {
+        var mask = table.length - 1;
+        var pos = getHash(key) & mask;
+        int entry;
+        while ((entry = table[pos]) != 0) {
+            if (keys[entry - 1].equals(key)) {
+                return pos;
+            }
+            pos = (pos + 1) & mask;
+        }
+        return pos;
+    }
+
+    private int findSlot(AEKey key) {
+        if (size == 0) {
+            return NONE;
+        }
+        return table[findPosition(key)] - 1;
+    }
+
+    private int getOrCreateSlot(AEKey key) {
+        if (table.length == 0) {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        var pos = findPosition(key);
+        if (table[pos] != 0) {
+            return table[pos] - 1;
+        }
+
+        var slot = size++;
+        if (slot == keys.length) {
+            allocate(keys.length * 2);
+            pos = findPosition(key);
+        }
+        keys[slot] = key;
+        amounts[slot] = 0;
+        table[pos] = slot + 1;
+
+        // Prepend to the variants of the primary key
+        var next = firstVariant.put(key.getPrimaryKey(), slot);
+        nextVariant[slot] = next;
+        prevVariant[slot] = NONE;
+        if (next != NONE) {
+            prevVariant[next] = slot;
+        }
+        return slot;
+    }
+
+    /**
+     * Grows the dense storage to the given capacity and rebuilds the table for it.
+     */
+    private void allocate(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        nextVariant = Arrays.copyOf(nextVariant, capacity);
+        prevVariant = Arrays.copyOf(prevVariant, capacity);
+
+        // Keep the load factor of the table at or below 0.5
+        table = new int[capacity * 2];
+        var mask = table.length - 1;
+        for (int slot = 0; slot < size; slot++) {
+            var pos = getHash(keys[slot]) & mask;
+            while (table[pos] != 0) {
+                pos = (pos + 1) & mask;
+            }
+            table[pos] = slot + 1;
+        }
+    }
+
+    private void copyDenseFrom(KeyCounter other) {
+        keys = other.keys.clone();
+        amounts = other.amounts.clone();
+        nextVariant = other.nextVariant.clone();
+        prevVariant = other.prevVariant.clone();
+        table = other.table.clone();
+        size = other.size;
+        firstVariant.clear();
+        firstVariant.putAll(other.firstVariant);
+    }
+
+    /**
+     * Removes the key in the given slot, and moves the key in the last slot into it.
+     */
+    private void removeSlot(int slot) {
+        var key = keys[slot];
+
+        // Unlink from the other variants
+        var prev = prevVariant[slot];
+        var next = nextVariant[slot];
+        if (prev != NONE) {
+            nextVariant[prev] = next;
+        } else if (next != NONE) {
+            firstVariant.put(key.getPrimaryKey(), next);
+        } else {
+            firstVariant.removeInt(key.getPrimaryKey());
+        }
+        if (next != NONE) {
+            prevVariant[next] = prev;
+        }
+
+        removePosition(findPosition(key));
+
+        var last = --size;
+        if (slot != last) {
+            var movedKey = keys[last];
+            keys[slot] = movedKey;
+            amounts[slot] = amounts[last];
+            prev = prevVariant[last];
+            next = nextVariant[last];
+            prevVariant[slot] = prev;
+            nextVariant[slot] = next;
+            if (prev != NONE) {
+                nextVariant[prev] = slot;
+            } else {
+                firstVariant.put(movedKey.getPrimaryKey(), slot);
+            }
+            if (next != NONE) {
+                prevVariant[next] = slot;
+            }
+            table[findPosition(movedKey)] = slot + 1;
+        }
+        keys[last] = null;
+    }
+
+    /**
+     * Frees a position in the table by shifting the following colliding entries back.
+     */
+    private void removePosition(int pos) {
+        var mask = table.length - 1;
+        while (true) {
+            var last = pos;
+            pos = (pos + 1) & mask;
+            int entry;
+            while (true) {
+                if ((entry = table[pos]) == 0) {
+                    table[last] = 0;
+                    return;
+                }
+                var ideal = getHash(keys[entry - 1]) & mask;
+                // Only move the entry if its ideal position isn't cyclically between last and pos
+                if (last <= pos ? last >= ideal || ideal > pos : last >= ideal && ideal > pos) {
+                    break;
+                }
+                pos = (pos + 1) & mask;
+            }
+            table[last] = entry;
+        }
+    }
+
+    /**
+     * Entry for a key in the dense storage. The slot of a key can change when other keys are removed, in which case
+     * the entry looks up the key again.
+     */
+    private final class Entry implements Object2LongMap.Entry<AEKey> {
+        private final AEKey key;
+        private int slot;
+
+        Entry(int slot) {
+            this.key = keys[slot];
+            this.slot = slot;
+        }
+
+        private int getSlot() {
+            if (slot >= size || keys[slot] != key) {
+                slot = findSlot(key);
+            }
+            return slot;
+        }
+
+        @Override
+        public AEKey getKey() {
+            return key;
+        }
+
+        @Override
+        public long getLongValue() {
+            var slot = getSlot();
+            return slot == NONE ? 0 : amounts[slot];
+        }
+
+        @Override
+        public long setValue(long value) {
+            var slot = getSlot();
+            if (slot == NONE) {
+                throw new IllegalStateException("Key " + key + " was removed from the counter");
+            }
+            var oldValue = amounts[slot];
+            amounts[slot] = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && key.equals(e.getKey())
+                    && Long.valueOf(getLongValue()).equals(e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Long.hashCode(getLongValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getLongValue();
+        }
+    }
+
+    private final class DenseIterator implements Iterator<Object2LongMap.Entry<AEKey>> {
+        private int next = 0;
+        private int lastReturned = NONE;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Object2LongMap.Entry<AEKey> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturned = next++;
+            return new Entry(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == NONE) {
+                throw new IllegalStateException();
+            }
+            removeSlot(lastReturned);
+            // The last key was moved into the removed slot and still has to be visited
+            next = lastReturned;
+            lastReturned = NONE;
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.api.stacks;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Weak interning table that resolves equal keys to one canonical instance. Keys are only weakly referenced and are
+ * removed once they're no longer used anywhere else.
+ * <p/>
+ * Unlike a regular interner, lookups are performed with the source the key would be created from, so that looking up
+ * an existing key doesn't require creating (and copying the source into) a new key first.
+ *
+ * @param <K> The type of key.
+ * @param <S> The type of source that keys are created from.
+ */
+final class KeyInterner<K, S> {
+    // Segments are locked individually to reduce contention between the server, client and crafting threads
+    private static final int SEGMENT_BITS = 4;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+
+    private final Segment<K, S>[] segments;
+    private final BiPredicate<K, S> matcher;
+
+    /**
+     * @param matcher Tests if an existing key is equal to the key that would be created from a source.
+     */
+    @SuppressWarnings("unchecked")
+    KeyInterner(BiPredicate<K, S> matcher) {
+        this.matcher = matcher;
+        this.segments = new Segment[1 << SEGMENT_BITS];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * Finds the canonical key for the given source, or creates it using the factory.
+     *
+     * @param hash    The hash code that the key for the source will have.
+     * @param factory Creates the key if no equal key exists. The created key becomes the canonical instance.
+     */
+    K intern(int hash, S source, Function<S, K> factory) {
+        var spread = hash ^ (hash >>> 16);
+        return segments[spread >>> (32 - SEGMENT_BITS)].intern(spread, source, matcher, factory);
+    }
+
+    /**
+     * @return The number of keys currently interned, including keys that have been collected but not yet removed.
+     */
+    int size() {
+        int size = 0;
+        for (var segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    private static final class Segment<K, S> {
+        private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+        @SuppressWarnings("unchecked")
+        private Entry<K>[] table = new Entry[INITIAL_SEGMENT_CAPACITY];
+        private int size;
+
+        synchronized K intern(int hash, S source, BiPredicate<K, S> matcher, Function<S, K> factory) {
+            expungeCollected();
+
+            var index = hash & (table.length - 1);
+            for (var e = table[index]; e != null; e = e.next) {
+                if (e.hash == hash) {
+                    var key = e.get();
+                    if (key != null && matcher.test(key, source)) {
+                        return key;
+                    }
+                }
+            }
+
+            var key = factory.apply(source);
+            table[index] = new Entry<>(key, hash, table[index], queue);
+            if (++size > table.length * 3 / 4) {
+                resize();
+            }
+            return key;
+        }
+
+        private void expungeCollected() {
+            Object ref;
+            while ((ref = queue.poll()) != null) {
+                @SuppressWarnings("unchecked")
+                var collected = (Entry<K>) ref;
+                var index = collected.hash & (table.length - 1);
+                Entry<K> prev = null;
+                for (var e = table[index]; e != null; prev = e, e = e.next) {
+                    if (e == collected) {
+                        if (prev == null) {
+                            table[index] = e.next;
+                        } else {
+                            prev.next = e.next;
+                        }
+                        size--;
+                        break;
+                    }
+                }
+            }
+        }
+
+        private void resize() {
+            @SuppressWarnings("unchecked")
+            Entry<K>[] newTable = new Entry[table.length * 2];
+            for (var head : table) {
+                for (var e = head; e != null;) {
+                    var next = e.next;
+                    var index = e.hash & (newTable.length - 1);
+                    e.next = newTable[index];
+                    newTable[index] = e;
+                    e = next;
+                }
+            }
+            table = newTable;
+        }
+    }
+
+    private static final class Entry<K> extends WeakReference<K> {
+        private final int hash;
+        private Entry<K> next;
+
+        Entry(K key, int hash, Entry<K> next, ReferenceQueue<K> queue) {
+            super(key, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+}
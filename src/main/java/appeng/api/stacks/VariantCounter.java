@@ -4,6 +4,8 @@
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
+import org.jetbrains.annotations.Nullable;
+
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongSortedMap;
 
@@ -60,6 +62,12 @@ public void removeAll(VariantCounter other) {
 
     public abstract Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey filter, FuzzyMode fuzzy);
 
+    /**
+     * @see KeyCounter#findFuzzyFrom
+     */
+    @Nullable
+    public abstract AEKey findNextFuzzy(AEKey filter, FuzzyMode fuzzy, @Nullable AEKey from, boolean inclusive);
+
     public int size() {
         if (!dropZeros) {
             return getRecords().size();
@@ -176,35 +184,6 @@ private Object2LongMap.Entry<AEKey> seekNext() {
         }
     }
 
-    /**
-     * This variant list is optimized for items that cannot be damaged and thus do not support querying durability
-     * ranges via {@link #findFuzzy}.
-     */
-    static class UnorderedVariantMap extends VariantCounter {
-        private final AEKey2LongMap records = new AEKey2LongMap.OpenHashMap();
-
-        /**
-         * For keys whose primary key does not support fuzzy range lookups, we simply return all records, which amounts
-         * to ignoring NBT.
-         */
-        @Override
-        public Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey filter, FuzzyMode fuzzy) {
-            return records.object2LongEntrySet();
-        }
-
-        @Override
-        AEKey2LongMap getRecords() {
-            return records;
-        }
-
-        @Override
-        public VariantCounter copy() {
-            var result = new UnorderedVariantMap();
-            result.records.putAll(records);
-            return result;
-        }
-    }
-
     /**
      * This variant list is optimized for damageable items, and supports selecting durability ranges with
      * {@link #findFuzzy}.
@@ -218,6 +197,21 @@ public Collection<Object2LongMap.Entry<AEKey>> findFuzzy(AEKey key, FuzzyMode fu
             return FuzzySearch.findFuzzy((Object2LongSortedMap<AEKey>) records, key, fuzzy).object2LongEntrySet();
         }
 
+        @Override
+        @Nullable
+        public AEKey findNextFuzzy(AEKey filter, FuzzyMode fuzzy, @Nullable AEKey from, boolean inclusive) {
+            var range = FuzzySearch.findFuzzy((Object2LongSortedMap<AEKey>) records, filter, fuzzy);
+            if (from == null) {
+                return range.isEmpty() ? null : range.firstKey();
+            }
+            if (inclusive && range.containsKey(from)) {
+                return from;
+            }
+            // Iterating from a key also works if that key has been removed in the meantime
+            var it = range.keySet().iterator(from);
+            return it.hasNext() ? it.next() : null;
+        }
+
         @Override
         AEKey2LongMap getRecords() {
             return this.records;
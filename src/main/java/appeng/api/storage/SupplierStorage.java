@@ -24,7 +24,10 @@ public SupplierStorage(Supplier<@Nullable MEStorage> supplier) {
         this.supplier = supplier;
     }
 
-    private MEStorage getDelegate() {
+    /**
+     * @return The storage currently provided by the supplier, or an empty storage if there is none.
+     */
+    public MEStorage getDelegate() {
         return Objects.requireNonNullElseGet(supplier.get(), NullInventory::of);
     }
 
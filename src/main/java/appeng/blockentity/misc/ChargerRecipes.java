@@ -1,23 +1,30 @@
 package appeng.blockentity.misc;
 
+import java.util.List;
+
 import org.jetbrains.annotations.Nullable;
 
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.RecipeHolder;
 import net.minecraft.world.level.Level;
 
 import appeng.recipes.AERecipeTypes;
+import appeng.recipes.RecipeIndex;
 import appeng.recipes.handlers.ChargerRecipe;
 
 public class ChargerRecipes {
 
+    private static final RecipeIndex<Item, ChargerRecipe> BY_INPUT = new RecipeIndex<>(AERecipeTypes.CHARGER,
+            recipe -> RecipeIndex.getItems(List.of(recipe.ingredient)));
+
     public static Iterable<RecipeHolder<ChargerRecipe>> getRecipes(Level level) {
         return level.getRecipeManager().byType(AERecipeTypes.CHARGER);
     }
 
     @Nullable
     public static ChargerRecipe findRecipe(Level level, ItemStack input) {
-        for (var recipe : getRecipes(level)) {
+        for (var recipe : BY_INPUT.getCandidates(level, input.getItem())) {
             if (recipe.value().ingredient.test(input)) {
                 return recipe.value();
             }
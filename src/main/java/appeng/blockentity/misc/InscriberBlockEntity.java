@@ -550,7 +550,7 @@ public boolean allowInsert(InternalInventory inv, int slot, ItemStack stack) {
             if (inv == topItemHandler)
                 top = stack;
 
-            for (var holder : InscriberRecipes.getRecipes(level)) {
+            for (var holder : InscriberRecipes.getRecipesForMiddleInput(level, middle)) {
                 var recipe = holder.value();
                 if (!middle.isEmpty() && !recipe.getMiddleInput().test(middle)) {
                     continue;
@@ -18,10 +18,13 @@
 
 package appeng.blockentity.misc;
 
+import java.util.List;
+
 import org.jetbrains.annotations.Nullable;
 
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.crafting.Ingredient;
 import net.minecraft.world.item.crafting.RecipeHolder;
@@ -30,6 +33,7 @@
 import appeng.api.ids.AEComponents;
 import appeng.core.definitions.AEItems;
 import appeng.recipes.AERecipeTypes;
+import appeng.recipes.RecipeIndex;
 import appeng.recipes.handlers.InscriberProcessType;
 import appeng.recipes.handlers.InscriberRecipe;
 
@@ -39,6 +43,13 @@
  */
 public final class InscriberRecipes {
 
+    private static final RecipeIndex<Item, InscriberRecipe> BY_MIDDLE_INPUT = new RecipeIndex<>(
+            AERecipeTypes.INSCRIBER, recipe -> RecipeIndex.getItems(List.of(recipe.getMiddleInput())));
+
+    private static final RecipeIndex<Item, InscriberRecipe> BY_OPTIONAL_INPUT = new RecipeIndex<>(
+            AERecipeTypes.INSCRIBER,
+            recipe -> RecipeIndex.getItems(List.of(recipe.getTopOptional(), recipe.getBottomOptional())));
+
     private InscriberRecipes() {
     }
 
@@ -49,6 +60,17 @@ public static Iterable<RecipeHolder<InscriberRecipe>> getRecipes(Level level) {
         return level.getRecipeManager().byType(AERecipeTypes.INSCRIBER);
     }
 
+    /**
+     * Returns the inscriber recipes that could use the given stack as their middle input, or all recipes if the stack is
+     * empty.
+     */
+    public static Iterable<RecipeHolder<InscriberRecipe>> getRecipesForMiddleInput(Level level, ItemStack input) {
+        if (input.isEmpty()) {
+            return getRecipes(level);
+        }
+        return BY_MIDDLE_INPUT.getCandidates(level, input.getItem());
+    }
+
     @Nullable
     public static InscriberRecipe findRecipe(Level level, ItemStack input, ItemStack plateA, ItemStack plateB,
             boolean supportNamePress) {
@@ -63,7 +85,7 @@ public static InscriberRecipe findRecipe(Level level, ItemStack input, ItemStack
             }
         }
 
-        for (var holder : getRecipes(level)) {
+        for (var holder : BY_MIDDLE_INPUT.getCandidates(level, input.getItem())) {
             var recipe = holder.value();
             // The recipe can be flipped at will
             final boolean matchA = recipe.getTopOptional().test(plateA) && recipe.getBottomOptional().test(plateB);
@@ -119,7 +141,8 @@ private static InscriberRecipe makeNamePressRecipe(ItemStack input, ItemStack pl
      * combination and the reverse will be searched.
      */
     public static boolean isValidOptionalIngredientCombination(Level level, ItemStack pressA, ItemStack pressB) {
-        for (var holder : getRecipes(level)) {
+        // Either way, pressA has to match one of the optional ingredients
+        for (var holder : BY_OPTIONAL_INPUT.getCandidates(level, pressA.getItem())) {
             var recipe = holder.value();
             if (recipe.getTopOptional().test(pressA) && recipe.getBottomOptional().test(pressB)
                     || recipe.getTopOptional().test(pressB) && recipe.getBottomOptional().test(pressA)) {
@@ -135,7 +158,7 @@ public static boolean isValidOptionalIngredientCombination(Level level, ItemStac
      * top can be used interchangeably here, because the inscriber will flip the recipe if needed.
      */
     public static boolean isValidOptionalIngredient(Level level, ItemStack is) {
-        for (var holder : getRecipes(level)) {
+        for (var holder : BY_OPTIONAL_INPUT.getCandidates(level, is.getItem())) {
             var recipe = holder.value();
             if (recipe.getTopOptional().test(is) || recipe.getBottomOptional().test(is)) {
                 return true;
@@ -77,6 +77,8 @@
 import appeng.helpers.IPriorityHost;
 import appeng.me.helpers.MachineSource;
 import appeng.me.storage.DelegatingMEInventory;
+import appeng.me.storage.IChangeReportingStorage;
+import appeng.me.storage.IStorageChangeListener;
 import appeng.menu.ISubMenu;
 import appeng.menu.MenuOpener;
 import appeng.menu.implementations.MEChestMenu;
@@ -577,7 +579,7 @@ public void openCellInventoryMenu(Player player) {
         MenuOpener.open(MEChestMenu.TYPE, player, MenuLocators.forBlockEntity(this));
     }
 
-    private class ChestMonitorHandler extends DelegatingMEInventory {
+    private class ChestMonitorHandler extends DelegatingMEInventory implements IChangeReportingStorage {
         private final StorageCell cellInventory;
 
         public ChestMonitorHandler(StorageCell cellInventory) {
@@ -602,6 +604,12 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
             }
             return extracted;
         }
+
+        @Override
+        public boolean setChangeListener(@Nullable IStorageChangeListener listener) {
+            return cellInventory instanceof IChangeReportingStorage reportingStorage
+                    && reportingStorage.setChangeListener(listener);
+        }
     }
 
     @Nullable
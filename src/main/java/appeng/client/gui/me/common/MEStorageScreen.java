@@ -744,6 +744,7 @@ private boolean isHovered() {
     @Override
     public void containerTick() {
         this.repo.setEnabled(this.menu.getLinkStatus().connected());
+        this.repo.prepareSearchIndex();
 
         if (this.supportsViewCells) {
             List<ItemStack> viewCells = this.menu.getViewCells();
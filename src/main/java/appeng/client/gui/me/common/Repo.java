@@ -40,6 +40,7 @@
 import appeng.api.config.ViewItems;
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.AEKeyType;
 import appeng.client.gui.me.search.RepoSearch;
 import appeng.client.gui.widgets.IScrollSource;
 import appeng.client.gui.widgets.ISortSource;
@@ -60,6 +61,12 @@ public class Repo implements IClientRepo {
 
     public static final Comparator<GridInventoryEntry> AMOUNT_DESC = AMOUNT_ASC.reversed();
 
+    /**
+     * Up to this many changed entries are moved within the view individually. Larger updates are merged into the view
+     * in a single pass instead.
+     */
+    private static final int MAX_INDIVIDUAL_VIEW_UPDATES = 32;
+
     private static final Comparator<GridInventoryEntry> PINNED_ROW_COMPARATOR = Comparator.comparing(entry -> {
         var pinInfo = PinnedKeys.getPinInfo(entry.getWhat());
         return pinInfo != null ? pinInfo.since : Instant.MAX;
@@ -78,6 +85,13 @@ public class Repo implements IClientRepo {
     private final Int2ObjectOpenHashMap<List<GridInventoryEntry>> entriesByItemId = new Int2ObjectOpenHashMap<>();
     private boolean entriesByItemIdNeedsUpdate = true;
     private final RepoSearch search = new RepoSearch();
+    /**
+     * The settings the view was last sorted and filtered with, or null if the view isn't sorted, i.e. while paused.
+     * Updates from the server are applied to the sorted view incrementally as long as the settings stay the same.
+     */
+    @Nullable
+    private ViewState viewState;
+    private Comparator<GridInventoryEntry> viewComparator;
     private IPartitionList partitionList;
     private Runnable updateViewListener;
 
@@ -103,11 +117,21 @@ public final void handleUpdate(boolean fullUpdate, List<GridInventoryEntry> entr
             clear();
         }
 
+        var updatedSerials = new LongOpenHashSet(entries.size());
+        var previousEntries = new ArrayList<GridInventoryEntry>(entries.size());
         for (var entry : entries) {
+            var previousEntry = this.entries.get(entry.getSerial());
+            if (updatedSerials.add(entry.getSerial()) && previousEntry != null) {
+                previousEntries.add(previousEntry);
+            }
             handleUpdate(entry);
         }
 
-        updateView();
+        if (canUpdateViewIncrementally(previousEntries, updatedSerials)) {
+            updateViewIncrementally(previousEntries, updatedSerials);
+        } else {
+            updateView();
+        }
     }
 
     private void handleUpdate(GridInventoryEntry serverEntry) {
@@ -122,6 +146,7 @@ private void handleUpdate(GridInventoryEntry serverEntry) {
             }
             if (serverEntry.isMeaningful()) {
                 entries.put(serverEntry.getSerial(), serverEntry);
+                search.addToIndex(serverEntry.getWhat());
             }
             return;
         }
@@ -129,6 +154,7 @@ private void handleUpdate(GridInventoryEntry serverEntry) {
         // Update the local entry
         if (!serverEntry.isMeaningful()) {
             entries.remove(serverEntry.getSerial());
+            search.removeFromIndex(localEntry.getWhat());
         } else if (serverEntry.getWhat() == null) {
             entries.put(serverEntry.getSerial(), new GridInventoryEntry(
                     serverEntry.getSerial(),
@@ -188,10 +214,95 @@ public final void updateView() {
             // Sort older entries first in the pinned row
             pinnedRow.sort(PINNED_ROW_COMPARATOR);
 
-            var sortOrder = this.sortSrc.getSortBy();
-            var sortDir = this.sortSrc.getSortDir();
+            this.viewState = captureViewState();
+            this.viewComparator = getComparator(viewState.sortOrder(), viewState.sortDir());
+            this.view.sort(viewComparator);
+        } else {
+            this.viewState = null;
+        }
+
+        if (this.updateViewListener != null) {
+            this.updateViewListener.run();
+        }
+    }
+
+    /**
+     * Checks if an update can be applied to the sorted view without rebuilding it. This requires that none of the
+     * settings that affect the view have changed since it was last built, and that none of the updated entries are
+     * shown in the pinned row.
+     */
+    private boolean canUpdateViewIncrementally(List<GridInventoryEntry> previousEntries, LongSet updatedSerials) {
+        if (viewState == null || isPaused() || !viewState.equals(captureViewState())) {
+            return false;
+        }
+
+        if (!PinnedKeys.isEmpty()) {
+            for (var previousEntry : previousEntries) {
+                if (PinnedKeys.isPinned(previousEntry.getWhat())) {
+                    return false;
+                }
+            }
+            for (var serial : updatedSerials) {
+                var entry = entries.get(serial);
+                if (entry != null && PinnedKeys.isPinned(entry.getWhat())) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Moves the updated entries to their new position in the sorted view, instead of filtering and sorting all
+     * entries again.
+     *
+     * @param previousEntries The entries that were replaced or removed by the update.
+     * @param updatedSerials  The serials of all entries that were part of the update.
+     */
+    private void updateViewIncrementally(List<GridInventoryEntry> previousEntries, LongSet updatedSerials) {
+        var comparator = this.viewComparator;
+
+        // The comparator orders by serial last, so an entry can only be found at its exact position
+        if (previousEntries.size() <= MAX_INDIVIDUAL_VIEW_UPDATES) {
+            for (var previousEntry : previousEntries) {
+                var index = Collections.binarySearch(view, previousEntry, comparator);
+                if (index >= 0) {
+                    view.remove(index);
+                }
+            }
+        } else {
+            view.removeIf(entry -> updatedSerials.contains(entry.getSerial()));
+        }
+
+        var addedEntries = new ArrayList<GridInventoryEntry>();
+        for (var serial : updatedSerials) {
+            var entry = entries.get(serial);
+            if (entry != null && isShownInView(entry, viewState.viewMode(), viewState.typeFilter())) {
+                addedEntries.add(entry);
+            }
+        }
+        addedEntries.sort(comparator);
 
-            this.view.sort(getComparator(sortOrder, sortDir));
+        if (addedEntries.size() <= MAX_INDIVIDUAL_VIEW_UPDATES) {
+            for (var entry : addedEntries) {
+                var index = Collections.binarySearch(view, entry, comparator);
+                view.add(index < 0 ? -index - 1 : index, entry);
+            }
+        } else {
+            var merged = new ArrayList<GridInventoryEntry>(view.size() + addedEntries.size());
+            int i = 0, j = 0;
+            while (i < view.size() && j < addedEntries.size()) {
+                if (comparator.compare(view.get(i), addedEntries.get(j)) <= 0) {
+                    merged.add(view.get(i++));
+                } else {
+                    merged.add(addedEntries.get(j++));
+                }
+            }
+            merged.addAll(view.subList(i, view.size()));
+            merged.addAll(addedEntries.subList(j, addedEntries.size()));
+            view.clear();
+            view.addAll(merged);
         }
 
         if (this.updateViewListener != null) {
@@ -199,6 +310,18 @@ public final void updateView() {
         }
     }
 
+    private ViewState captureViewState() {
+        return new ViewState(
+                sortSrc.getSortBy(),
+                sortSrc.getSortDir(),
+                sortSrc.getSortDisplay(),
+                sortSrc.getSortKeyTypes(),
+                search.getSearchString(),
+                partitionList,
+                PinnedKeys.getPinnedKeys(),
+                rowSize);
+    }
+
     private void addEntriesToView(Collection<GridInventoryEntry> entries) {
         var viewMode = this.sortSrc.getSortDisplay();
         var typeFilter = this.sortSrc.getSortKeyTypes();
@@ -212,23 +335,7 @@ private void addEntriesToView(Collection<GridInventoryEntry> entries) {
                 continue;
             }
 
-            if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
-                continue;
-            }
-
-            if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
-                continue;
-            }
-
-            if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
-                continue;
-            }
-
-            if (!typeFilter.contains(entry.getWhat().getType())) {
-                continue;
-            }
-
-            if (search.matches(entry)) {
+            if (isShownInView(entry, viewMode, typeFilter)) {
                 this.view.add(entry);
             }
         }
@@ -248,6 +355,26 @@ private void addEntriesToView(Collection<GridInventoryEntry> entries) {
         }
     }
 
+    private boolean isShownInView(GridInventoryEntry entry, ViewItems viewMode, Set<AEKeyType> typeFilter) {
+        if (this.partitionList != null && !this.partitionList.isListed(entry.getWhat())) {
+            return false;
+        }
+
+        if (viewMode == ViewItems.CRAFTABLE && !entry.isCraftable()) {
+            return false;
+        }
+
+        if (viewMode == ViewItems.STORED && entry.getStoredAmount() == 0) {
+            return false;
+        }
+
+        if (!typeFilter.contains(entry.getWhat().getType())) {
+            return false;
+        }
+
+        return search.matches(entry);
+    }
+
     private void updateEntriesWhilePaused(List<GridInventoryEntry> shownEntries, LongSet visibleSerials) {
         for (int i = 0; i < shownEntries.size(); i++) {
             var entry = shownEntries.get(i);
@@ -309,12 +436,16 @@ private static boolean takeOverSlotOccupiedByRemovedItem(GridInventoryEntry serv
         return true;
     }
 
-    private Comparator<? super GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+    private Comparator<GridInventoryEntry> getComparator(SortOrder sortOrder, SortDir sortDir) {
+        Comparator<GridInventoryEntry> comparator;
         if (sortOrder == SortOrder.AMOUNT) {
-            return sortDir == SortDir.ASCENDING ? AMOUNT_ASC : AMOUNT_DESC;
+            comparator = sortDir == SortDir.ASCENDING ? AMOUNT_ASC : AMOUNT_DESC;
+        } else {
+            comparator = Comparator.comparing(GridInventoryEntry::getWhat, getKeyComparator(sortOrder, sortDir));
         }
 
-        return Comparator.comparing(GridInventoryEntry::getWhat, getKeyComparator(sortOrder, sortDir));
+        // Order equal entries by serial, so every entry has a well-defined position in the view
+        return comparator.thenComparingLong(GridInventoryEntry::getSerial);
     }
 
     public List<GridInventoryEntry> getPinnedEntries() {
@@ -348,10 +479,12 @@ public final int size() {
 
     public final void clear() {
         this.entries.clear();
+        this.search.clearIndex();
         this.view.clear();
         this.pinnedRow.clear();
         this.entriesByItemId.clear();
         this.entriesByItemIdNeedsUpdate = true;
+        this.viewState = null;
     }
 
     public final boolean hasPinnedRow() {
@@ -374,6 +507,13 @@ public final void setRowSize(int rowSize) {
         this.rowSize = rowSize;
     }
 
+    /**
+     * Prepares the search index for the entries that were received recently. Should be called once per tick.
+     */
+    public final void prepareSearchIndex() {
+        this.search.prepareIndex();
+    }
+
     public final String getSearchString() {
         return this.search.getSearchString();
     }
@@ -466,4 +606,14 @@ public boolean isCraftable(AEKey what) {
         }
         return false;
     }
+
+    private record ViewState(SortOrder sortOrder,
+            SortDir sortDir,
+            ViewItems viewMode,
+            Set<AEKeyType> typeFilter,
+            String searchString,
+            @Nullable IPartitionList partitionList,
+            Set<AEKey> pinnedKeys,
+            int rowSize) {
+    }
 }
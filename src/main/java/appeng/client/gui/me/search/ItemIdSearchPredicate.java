@@ -1,23 +1,22 @@
 package appeng.client.gui.me.search;
 
-import java.util.Locale;
 import java.util.Objects;
 import java.util.function.Predicate;
 
-import appeng.api.stacks.AEKey;
 import appeng.menu.me.common.GridInventoryEntry;
 
 final class ItemIdSearchPredicate implements Predicate<GridInventoryEntry> {
     private final String term;
+    private final SearchIndex index;
 
-    public ItemIdSearchPredicate(String term) {
+    public ItemIdSearchPredicate(String term, SearchIndex index) {
         this.term = term.toLowerCase();
+        this.index = index;
     }
 
     @Override
     public boolean test(GridInventoryEntry gridInventoryEntry) {
-        AEKey what = Objects.requireNonNull(gridInventoryEntry.getWhat());
-        var id = what.getId().toString();
-        return id.toLowerCase(Locale.ROOT).contains(term);
+        var indexedKey = index.get(Objects.requireNonNull(gridInventoryEntry.getWhat()));
+        return indexedKey.getId().contains(term);
     }
 }
@@ -4,30 +4,28 @@
 import java.util.Objects;
 import java.util.function.Predicate;
 
-import appeng.api.stacks.AEKey;
 import appeng.menu.me.common.GridInventoryEntry;
-import appeng.util.Platform;
 
 final class ModSearchPredicate implements Predicate<GridInventoryEntry> {
     private final String term;
+    private final SearchIndex index;
 
-    public ModSearchPredicate(String term) {
+    public ModSearchPredicate(String term, SearchIndex index) {
         this.term = normalize(term);
+        this.index = index;
     }
 
     @Override
     public boolean test(GridInventoryEntry gridInventoryEntry) {
-        AEKey entryInfo = Objects.requireNonNull(gridInventoryEntry.getWhat());
-        String modId = entryInfo.getModId();
+        var indexedKey = index.get(Objects.requireNonNull(gridInventoryEntry.getWhat()));
+        String modId = indexedKey.getModId();
 
         if (modId != null) {
             if (modId.contains(term)) {
                 return true;
             }
 
-            String modName = Platform.getModName(modId);
-            modName = normalize(modName);
-            return modName.contains(term);
+            return indexedKey.getModName().contains(term);
         }
 
         return false;
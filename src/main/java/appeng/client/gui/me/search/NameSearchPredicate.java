@@ -3,20 +3,20 @@
 import java.util.Objects;
 import java.util.function.Predicate;
 
-import appeng.api.stacks.AEKey;
 import appeng.menu.me.common.GridInventoryEntry;
 
 final class NameSearchPredicate implements Predicate<GridInventoryEntry> {
     private final String term;
+    private final SearchIndex index;
 
-    public NameSearchPredicate(String term) {
+    public NameSearchPredicate(String term, SearchIndex index) {
         this.term = term.toLowerCase();
+        this.index = index;
     }
 
     @Override
     public boolean test(GridInventoryEntry gridInventoryEntry) {
-        AEKey entryInfo = Objects.requireNonNull(gridInventoryEntry.getWhat());
-        String displayName = entryInfo.getDisplayName().getString();
-        return displayName.toLowerCase().contains(term);
+        var indexedKey = index.get(Objects.requireNonNull(gridInventoryEntry.getWhat()));
+        return indexedKey.getName().contains(term);
     }
 }
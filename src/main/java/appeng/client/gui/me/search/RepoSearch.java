@@ -2,11 +2,11 @@
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import it.unimi.dsi.fastutil.longs.Long2BooleanMap;
+import it.unimi.dsi.fastutil.longs.Long2BooleanMaps;
 import it.unimi.dsi.fastutil.longs.Long2BooleanOpenHashMap;
 
 import appeng.api.stacks.AEKey;
@@ -14,12 +14,17 @@
 
 public class RepoSearch {
 
+    /**
+     * Time per client tick that may be spent on preparing tooltips of keys for searching.
+     */
+    private static final long TOOLTIP_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
     private String searchString = "";
 
     // Cached information
     private final Long2BooleanMap cache = new Long2BooleanOpenHashMap();
     private Predicate<GridInventoryEntry> search = (e) -> true;
-    final Map<AEKey, String> tooltipCache = new WeakHashMap<>();
+    private final SearchIndex index = new SearchIndex();
 
     public RepoSearch() {
     }
@@ -30,12 +35,59 @@ public String getSearchString() {
 
     public void setSearchString(String searchString) {
         if (!searchString.equals(this.searchString)) {
+            var narrowed = isNarrowedBy(this.searchString, searchString);
             this.search = fromString(searchString);
             this.searchString = searchString;
-            this.cache.clear();
+            if (narrowed) {
+                // Entries that didn't match the previous search can't match the new one either
+                for (var it = Long2BooleanMaps.fastIterator(cache); it.hasNext();) {
+                    if (it.next().getBooleanValue()) {
+                        it.remove();
+                    }
+                }
+            } else {
+                this.cache.clear();
+            }
         }
     }
 
+    /**
+     * Checks if every entry matching the new search string also matches the previous one. This is the case when more
+     * text is typed, since all terms check whether the searched text contains them, except if that adds an alternative
+     * to the search.
+     */
+    private static boolean isNarrowedBy(String previous, String next) {
+        return next.startsWith(previous)
+                && !previous.endsWith("|")
+                && next.indexOf('|', previous.length()) == -1;
+    }
+
+    /**
+     * Adds a key to the search index as soon as it's known, so that its tooltip can be prepared once tooltips are
+     * searched.
+     */
+    public void addToIndex(AEKey what) {
+        index.get(what);
+    }
+
+    /**
+     * Removes a key that is no longer shown from the search index.
+     */
+    public void removeFromIndex(AEKey what) {
+        index.remove(what);
+    }
+
+    public void clearIndex() {
+        index.clear();
+    }
+
+    /**
+     * Spends a small amount of time on preparing the index for searching. Should be called once per tick.
+     */
+    public void prepareIndex() {
+        index.prepareTooltips(TOOLTIP_BUDGET_NANOS);
+    }
+
     public boolean matches(GridInventoryEntry entry) {
         return cache.computeIfAbsent(entry.getSerial(), s -> search.test(entry));
     }
@@ -69,15 +121,17 @@ private List<Predicate<GridInventoryEntry>> getPredicates(String query) {
 
         for (String part : terms) {
             if (part.startsWith("@")) {
-                predicateFilters.add(new ModSearchPredicate(part.substring(1)));
+                predicateFilters.add(new ModSearchPredicate(part.substring(1), index));
             } else if (part.startsWith("#")) {
-                predicateFilters.add(new TooltipsSearchPredicate(part.substring(1), tooltipCache));
+                // Tooltips are searched from now on, so prepare them before they're needed
+                index.startPreparingTooltips();
+                predicateFilters.add(new TooltipsSearchPredicate(part.substring(1), index));
             } else if (part.startsWith("$")) {
                 predicateFilters.add(new TagSearchPredicate(part.substring(1)));
             } else if (part.startsWith("*")) {
-                predicateFilters.add(new ItemIdSearchPredicate(part.substring(1)));
+                predicateFilters.add(new ItemIdSearchPredicate(part.substring(1), index));
             } else {
-                predicateFilters.add(new NameSearchPredicate(part));
+                predicateFilters.add(new NameSearchPredicate(part, index));
             }
         }
 
@@ -0,0 +1,196 @@
+package appeng.client.gui.me.search;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.ChatFormatting;
+
+import appeng.api.client.AEKeyRendering;
+import appeng.api.stacks.AEKey;
+import appeng.core.AEConfig;
+import appeng.util.Platform;
+
+/**
+ * Caches the normalized texts that search terms are matched against for each key in a terminal, so they are computed
+ * once per key instead of once per key and keystroke.
+ * <p/>
+ * Building tooltips is comparatively expensive. Once the tooltips have been searched, they are also prepared ahead of
+ * time in small time slices as keys arrive. This happens on the client thread, because items may access the client
+ * level or player while building their tooltip.
+ */
+final class SearchIndex {
+    private final Map<AEKey, IndexedKey> keys = new HashMap<>();
+    private final ArrayDeque<IndexedKey> pendingTooltips = new ArrayDeque<>();
+    private boolean preparingTooltips;
+
+    /**
+     * Adds a key to the index, queuing its tooltip to be prepared if tooltips are being prepared.
+     */
+    IndexedKey get(AEKey key) {
+        var indexedKey = keys.get(key);
+        if (indexedKey == null) {
+            indexedKey = new IndexedKey(key);
+            keys.put(key, indexedKey);
+            if (preparingTooltips) {
+                pendingTooltips.add(indexedKey);
+            }
+        }
+        return indexedKey;
+    }
+
+    void remove(AEKey key) {
+        keys.remove(key);
+    }
+
+    void clear() {
+        keys.clear();
+        pendingTooltips.clear();
+    }
+
+    /**
+     * Starts preparing the tooltips of all keys ahead of time. Until this is called, tooltips are only built when they
+     * are searched.
+     */
+    void startPreparingTooltips() {
+        if (!preparingTooltips) {
+            preparingTooltips = true;
+            pendingTooltips.addAll(keys.values());
+        }
+    }
+
+    /**
+     * Prepares the tooltips of keys that were added to the index until the time budget is used up.
+     */
+    void prepareTooltips(long budgetNanos) {
+        if (pendingTooltips.isEmpty()) {
+            return;
+        }
+
+        var deadline = System.nanoTime() + budgetNanos;
+        IndexedKey indexedKey;
+        while ((indexedKey = pendingTooltips.poll()) != null) {
+            if (keys.get(indexedKey.key) != indexedKey) {
+                continue; // Removed from the index in the meantime
+            }
+            indexedKey.getTooltipText();
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+    }
+
+    static final class IndexedKey {
+        private final AEKey key;
+        @Nullable
+        private String name;
+        @Nullable
+        private String id;
+        @Nullable
+        private String modId;
+        @Nullable
+        private String modName;
+        @Nullable
+        private String tooltipText;
+
+        private IndexedKey(AEKey key) {
+            this.key = key;
+        }
+
+        /**
+         * @return The lowercase display name.
+         */
+        String getName() {
+            if (name == null) {
+                name = key.getDisplayName().getString().toLowerCase();
+            }
+            return name;
+        }
+
+        /**
+         * @return The lowercase registry id.
+         */
+        String getId() {
+            if (id == null) {
+                id = key.getId().toString().toLowerCase(Locale.ROOT);
+            }
+            return id;
+        }
+
+        @Nullable
+        String getModId() {
+            if (modId == null) {
+                modId = key.getModId();
+            }
+            return modId;
+        }
+
+        /**
+         * @return The lowercase name of the mod.
+         */
+        @Nullable
+        String getModName() {
+            if (modName == null && getModId() != null) {
+                modName = Platform.getModName(getModId()).toLowerCase(Locale.ROOT);
+            }
+            return modName;
+        }
+
+        /**
+         * @return The concatenated text of the tooltip in lowercase and without spaces.
+         */
+        String getTooltipText() {
+            if (tooltipText == null) {
+                tooltipText = buildTooltipText(key);
+            }
+            return tooltipText;
+        }
+    }
+
+    static String normalizeTooltipText(String input) {
+        return input.toLowerCase().replace(" ", "");
+    }
+
+    private static String buildTooltipText(AEKey what) {
+        var lines = AEKeyRendering.getTooltip(what);
+
+        var tooltipText = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            var line = lines.get(i);
+
+            // Process last line and skip mod name if our heuristic detects it
+            if (i > 0 && i >= lines.size() - 1 && !AEConfig.instance().isSearchModNameInTooltips()) {
+                var text = line.getString();
+                boolean hadFormatting = false;
+                if (text.indexOf(ChatFormatting.PREFIX_CODE) != -1) {
+                    text = ChatFormatting.stripFormatting(text);
+                    hadFormatting = true;
+                } else {
+                    hadFormatting = !line.getStyle().isEmpty();
+                }
+
+                if (!hadFormatting || !Objects.equals(text, Platform.getModName(what.getModId()))) {
+                    tooltipText.append('\n').append(text);
+                }
+            } else {
+                if (i > 0) {
+                    tooltipText.append('\n');
+                }
+                line.visit(text -> {
+                    if (text.indexOf(ChatFormatting.PREFIX_CODE) != -1) {
+                        text = ChatFormatting.stripFormatting(text);
+                    }
+                    tooltipText.append(text);
+                    return Optional.empty();
+                });
+            }
+        }
+
+        return normalizeTooltipText(tooltipText.toString());
+    }
+}
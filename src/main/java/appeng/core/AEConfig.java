@@ -496,6 +496,10 @@ public int getCraftingCalculationTimePerTick() {
         return COMMON.craftingCalculationTimePerTick.get();
     }
 
+    public int getCraftingCalculationThreads() {
+        return COMMON.craftingCalculationThreads.get();
+    }
+
     public boolean isAnnihilationPlaneSkyDustGenerationEnabled() {
         return COMMON.annihilationPlaneSkyDustGeneration.get();
     }
@@ -606,6 +610,7 @@ private static class CommonConfig {
         // Misc
         public final IntegerOption formationPlaneEntityLimit;
         public final IntegerOption craftingCalculationTimePerTick;
+        public final IntegerOption craftingCalculationThreads;
         public final BooleanOption debugTools;
         public final BooleanOption matterCannonBlockDamage;
         public final BooleanOption tinyTntBlockDamage;
@@ -685,7 +690,11 @@ public CommonConfig(ConfigSection root) {
             formationPlaneEntityLimit = automation.addInt("formationPlaneEntityLimit", 128);
 
             ConfigSection craftingCPU = root.subsection("craftingCPU");
-            this.craftingCalculationTimePerTick = craftingCPU.addInt("craftingCalculationTimePerTick", 5);
+            this.craftingCalculationTimePerTick = craftingCPU.addInt("craftingCalculationTimePerTick", 5, 1,
+                    Integer.MAX_VALUE,
+                    "Maximum time in milliseconds that each crafting calculation may run for per server tick.");
+            this.craftingCalculationThreads = craftingCPU.addInt("craftingCalculationThreads", 2, 1, 64,
+                    "Number of threads that calculate crafting plans concurrently. Further calculations are queued.");
 
             var crafting = root.subsection("crafting");
             growthAcceleratorSpeed = crafting.addInt("growthAccelerator", 10, 1, 100,
@@ -2,7 +2,6 @@
 package appeng.core.network.clientbound;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -10,6 +9,7 @@
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 
 import net.fabricmc.api.EnvType;
@@ -25,6 +25,7 @@
 import appeng.core.AELog;
 import appeng.core.network.ClientboundPacket;
 import appeng.core.network.CustomAppEngPayload;
+import appeng.me.helpers.EncodedKeyCache;
 import appeng.menu.me.common.GridInventoryEntry;
 import appeng.menu.me.common.IncrementalUpdateHelper;
 import appeng.menu.me.common.MEStorageMenu;
@@ -81,7 +82,11 @@ public void write(RegistryFriendlyByteBuf data) {
         }
     }
 
-    public static class Builder {
+    /**
+     * Builds the update packets for a single menu. Entries are encoded into a pooled buffer that is reused for every
+     * packet of the update, so the builder has to be {@link #close() closed} if it isn't {@link #build() built}.
+     */
+    public static class Builder implements AutoCloseable {
         private final List<MEInventoryUpdatePacket> packets = new ArrayList<>();
 
         private final int containerId;
@@ -96,6 +101,9 @@ public static class Builder {
         @Nullable
         private AEKeyFilter filter;
 
+        @Nullable
+        private EncodedKeyCache keyEncodings;
+
         public Builder(int containerId, boolean fullUpdate, RegistryAccess registryAccess) {
             this.containerId = containerId;
             this.fullUpdate = fullUpdate;
@@ -106,28 +114,48 @@ public void setFilter(@Nullable AEKeyFilter filter) {
             this.filter = filter;
         }
 
+        /**
+         * Sets the cache to take the encoding of keys from. Keys are retained in the cache while the client knows them.
+         */
+        public void setKeyEncodings(@Nullable EncodedKeyCache keyEncodings) {
+            this.keyEncodings = keyEncodings;
+        }
+
         public void addFull(IncrementalUpdateHelper updateHelper,
                 KeyCounter networkStorage,
                 Set<AEKey> craftables,
                 KeyCounter requestables) {
-            var keys = new HashSet<AEKey>();
-            keys.addAll(networkStorage.keySet());
-            keys.addAll(craftables);
-            keys.addAll(requestables.keySet());
-
-            for (var key : keys) {
-                if (this.filter != null && !this.filter.matches(key)) {
-                    continue;
+            for (var entry : networkStorage) {
+                addFull(updateHelper, entry.getKey(), networkStorage, craftables, requestables);
+            }
+            for (var key : craftables) {
+                if (networkStorage.get(key) == 0) {
+                    addFull(updateHelper, key, networkStorage, craftables, requestables);
                 }
+            }
+            for (var entry : requestables) {
+                var key = entry.getKey();
+                if (networkStorage.get(key) == 0 && !craftables.contains(key)) {
+                    addFull(updateHelper, key, networkStorage, craftables, requestables);
+                }
+            }
+        }
 
-                long serial = updateHelper.getOrAssignSerial(key);
-                add(new GridInventoryEntry(
-                        serial,
-                        key,
-                        networkStorage.get(key),
-                        requestables.get(key),
-                        craftables.contains(key)));
+        private void addFull(IncrementalUpdateHelper updateHelper,
+                AEKey key,
+                KeyCounter networkStorage,
+                Set<AEKey> craftables,
+                KeyCounter requestables) {
+            if (this.filter != null && !this.filter.matches(key)) {
+                return;
             }
+
+            add(new GridInventoryEntry(
+                    assignSerial(updateHelper, key),
+                    key,
+                    networkStorage.get(key),
+                    requestables.get(key),
+                    craftables.contains(key)));
         }
 
         public void addChanges(IncrementalUpdateHelper updateHelper,
@@ -146,7 +174,7 @@ public void addChanges(IncrementalUpdateHelper updateHelper,
                 if (serial == null) {
                     // This is a new key, not sent to the client
                     sendKey = key;
-                    serial = updateHelper.getOrAssignSerial(key);
+                    serial = assignSerial(updateHelper, key);
                 } else {
                     // This is an incremental update referring back to the serial
                     sendKey = null;
@@ -161,6 +189,9 @@ public void addChanges(IncrementalUpdateHelper updateHelper,
                     // This happens when an update is queued but the item is no longer stored
                     add(new GridInventoryEntry(serial, sendKey, 0, 0, false));
                     updateHelper.removeSerial(key);
+                    if (keyEncodings != null) {
+                        keyEncodings.release(key);
+                    }
                 } else {
                     add(new GridInventoryEntry(serial, sendKey, storedAmount, requestable, craftable));
                 }
@@ -169,13 +200,29 @@ public void addChanges(IncrementalUpdateHelper updateHelper,
             updateHelper.commitChanges();
         }
 
+        private long assignSerial(IncrementalUpdateHelper updateHelper, AEKey key) {
+            var serial = updateHelper.getSerial(key);
+            if (serial != null) {
+                return serial;
+            }
+            if (keyEncodings != null) {
+                keyEncodings.retain(key);
+            }
+            return updateHelper.getOrAssignSerial(key);
+        }
+
         public void add(GridInventoryEntry entry) {
             RegistryFriendlyByteBuf data = ensureData();
 
             // This should only error out if the entire packet exceeds about 2 megabytes of memory,
             // if any item writes that much junk to a share tag, it's acceptable to crash.
             // We'll normally flush much much earlier (32k)
-            writeEntry(data, entry);
+            var what = entry.getWhat();
+            if (what != null && keyEncodings != null) {
+                writeEntry(data, entry, keyEncodings.getEncoded(what, registryAccess));
+            } else {
+                writeEntry(data, entry);
+            }
 
             ++entryCount;
 
@@ -185,13 +232,15 @@ public void add(GridInventoryEntry entry) {
         }
 
         private void flushData() {
-            if (encodedEntries != null) {
-                // Build a packet and queue it
-                var packet = new MEInventoryUpdatePacket(fullUpdate, containerId, null, entryCount, encodedEntries);
+            if (encodedEntries != null && entryCount > 0) {
+                // Build a packet and queue it. The packet gets an exactly sized copy, since we can't know when it's
+                // released after being sent.
+                var packetData = new RegistryFriendlyByteBuf(Unpooled.copiedBuffer(encodedEntries), registryAccess);
+                var packet = new MEInventoryUpdatePacket(fullUpdate, containerId, null, entryCount, packetData);
                 packets.add(packet);
 
                 // Reset
-                encodedEntries = null;
+                encodedEntries.clear();
                 entryCount = 0;
                 fullUpdate = false; // Only the first packet in a chain is a full update
             }
@@ -199,13 +248,15 @@ private void flushData() {
 
         private RegistryFriendlyByteBuf ensureData() {
             if (encodedEntries == null) {
-                encodedEntries = new RegistryFriendlyByteBuf(Unpooled.buffer(INITIAL_BUFFER_CAPACITY), registryAccess);
+                encodedEntries = new RegistryFriendlyByteBuf(
+                        PooledByteBufAllocator.DEFAULT.heapBuffer(INITIAL_BUFFER_CAPACITY), registryAccess);
             }
             return encodedEntries;
         }
 
         public List<MEInventoryUpdatePacket> build() {
             flushData();
+            close();
             return packets;
         }
 
@@ -215,6 +266,17 @@ public void buildAndSend(Consumer<MEInventoryUpdatePacket> sender) {
             }
         }
 
+        /**
+         * Releases the pooled buffer used for encoding entries.
+         */
+        @Override
+        public void close() {
+            if (encodedEntries != null) {
+                encodedEntries.release();
+                encodedEntries = null;
+            }
+        }
+
     }
 
     public static Builder builder(int containerId, boolean fullUpdate, RegistryAccess registryAccess) {
@@ -227,6 +289,21 @@ public static Builder builder(int containerId, boolean fullUpdate, RegistryAcces
     private static void writeEntry(RegistryFriendlyByteBuf buffer, GridInventoryEntry entry) {
         buffer.writeVarLong(entry.getSerial());
         AEKey.writeOptionalKey(buffer, entry.getWhat());
+        writeAmounts(buffer, entry);
+    }
+
+    /**
+     * Writes an entry whose key has already been encoded using {@link AEKey#writeKey}.
+     */
+    private static void writeEntry(RegistryFriendlyByteBuf buffer, GridInventoryEntry entry, byte[] encodedKey) {
+        buffer.writeVarLong(entry.getSerial());
+        // Same layout as AEKey#writeOptionalKey
+        buffer.writeBoolean(true);
+        buffer.writeBytes(encodedKey);
+        writeAmounts(buffer, entry);
+    }
+
+    private static void writeAmounts(RegistryFriendlyByteBuf buffer, GridInventoryEntry entry) {
         buffer.writeVarLong(entry.getStoredAmount());
         buffer.writeVarLong(entry.getRequestableAmount());
         buffer.writeBoolean(entry.isCraftable());
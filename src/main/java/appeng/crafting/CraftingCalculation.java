@@ -19,16 +19,25 @@
 package appeng.crafting;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.google.common.base.Stopwatch;
 
+import it.unimi.dsi.fastutil.objects.Object2BooleanMap;
+import it.unimi.dsi.fastutil.objects.Object2BooleanOpenHashMap;
+
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
 
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.level.Level;
 
+import appeng.api.crafting.IPatternDetails;
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.CalculationStrategy;
 import appeng.api.networking.crafting.ICraftingPlan;
@@ -40,13 +49,28 @@
 import appeng.crafting.inv.ChildCraftingSimulationState;
 import appeng.crafting.inv.CraftingSimulationState;
 import appeng.crafting.inv.NetworkCraftingSimulationState;
-import appeng.hooks.ticking.TickHandler;
+import appeng.crafting.pattern.IAEPatternInput;
 
 public class CraftingCalculation {
+    /**
+     * Calculations that used up their time budget wait on this monitor until the next server tick.
+     */
+    private static final Object TICK_MONITOR = new Object();
+    private static volatile long serverTick;
+    /**
+     * How often calculations that are waiting for the server check whether it is still running.
+     */
+    private static final long SERVER_CHECK_INTERVAL_MS = 500;
+
     private final NetworkCraftingSimulationState networkInv;
+    private final ICraftingPatternLookup patterns;
     private final Level level;
+    /**
+     * The server whose thread tests pattern inputs, or null if inputs can be tested directly.
+     */
+    @Nullable
+    private final MinecraftServer server;
     private final KeyCounter missing = new KeyCounter();
-    private final Object monitor = new Object();
     private final Stopwatch watch = Stopwatch.createUnstarted();
     private final CraftingTreeNode tree;
     private final AEKey output;
@@ -55,25 +79,127 @@ public class CraftingCalculation {
     private final CalculationStrategy strategy;
     private boolean simulate = false;
     final ICraftingSimulationRequester simRequester;
-    private boolean running = false;
-    private boolean done = false;
-    private int time = 5;
+    private long timeBudgetNanos = Long.MAX_VALUE;
+    private long lastTick = -1;
     private int incTime = Integer.MAX_VALUE;
     private final List<CraftAttempt> attempts = AELog.isCraftingLogEnabled() ? new ArrayList<>() : null;
+    /**
+     * The same patterns usually appear in many branches of the tree, and every attempt of the calculation requests
+     * them again. Since the patterns can't change during the calculation, the result of resolving and testing their
+     * inputs is memoized per input.
+     */
+    private final Map<IPatternDetails.IInput, AEKey> craftedInputCache = new IdentityHashMap<>();
+    private final Map<IPatternDetails.IInput, Object2BooleanMap<AEKey>> validInputCache = new IdentityHashMap<>();
 
     public CraftingCalculation(Level level, IGrid grid, ICraftingSimulationRequester simRequester,
             GenericStack output, CalculationStrategy strategy) {
         this.level = level;
+        this.server = level.getServer();
         this.output = output.what();
         this.requestedAmount = output.amount();
         this.strategy = strategy;
         this.simRequester = simRequester;
 
+        // Both the network inventory and the patterns are captured here, on the server thread, since the
+        // calculation itself runs concurrently on a worker thread.
         var storage = grid.getStorageService();
-        var craftingService = grid.getCraftingService();
         this.networkInv = new NetworkCraftingSimulationState(storage, simRequester.getActionSource());
+        this.patterns = ICraftingPatternLookup.of(grid.getCraftingService());
+
+        this.tree = new CraftingTreeNode(this.patterns, this, this.output, 1, null, -1);
+    }
+
+    /**
+     * Limits the time this calculation may run for during a single server tick. Once it is used up, the calculation
+     * pauses until the next server tick. Calculations are not limited by default.
+     */
+    public void setTimeBudgetPerTick(long time, TimeUnit unit) {
+        this.timeBudgetNanos = unit.toNanos(time);
+    }
+
+    /**
+     * Called at the end of every server tick to resume calculations that are waiting for their next time slice.
+     */
+    public static void onServerTick() {
+        synchronized (TICK_MONITOR) {
+            serverTick++;
+            TICK_MONITOR.notifyAll();
+        }
+    }
+
+    /**
+     * Called when the server stops, to wake up all calculations that are waiting for the next server tick. They notice
+     * that their server is no longer running and stop.
+     */
+    public static void onServerStopping() {
+        synchronized (TICK_MONITOR) {
+            serverTick = 0;
+            TICK_MONITOR.notifyAll();
+        }
+    }
+
+    private boolean isServerRunning() {
+        return this.server == null || this.server.isRunning();
+    }
+
+    ICraftingPatternLookup getPatterns() {
+        return this.patterns;
+    }
+
+    @Nullable
+    AEKey getCraftedInput(IPatternDetails.IInput input) {
+        return this.craftedInputCache.get(input);
+    }
+
+    void setCraftedInput(IPatternDetails.IInput input, AEKey what) {
+        this.craftedInputCache.put(input, what);
+    }
 
-        this.tree = new CraftingTreeNode(craftingService, this, this.output, 1, null, -1);
+    /**
+     * Memoized version of {@link IPatternDetails.IInput#isValid}.
+     */
+    boolean isValidInput(IPatternDetails.IInput input, AEKey what) {
+        var results = this.validInputCache.computeIfAbsent(input, i -> new Object2BooleanOpenHashMap<>());
+        if (results.containsKey(what)) {
+            return results.getBoolean(what);
+        }
+        var valid = testInput(input, what);
+        results.put(what, valid);
+        return valid;
+    }
+
+    /**
+     * Testing a substitute for an input may match or assemble recipes, which can read the level. The calculation runs
+     * concurrently with the server thread, so such tests are handed over to the server thread. Inputs of our own
+     * patterns tell us when that's not necessary, which avoids waiting for the server for every exact match.
+     */
+    private boolean testInput(IPatternDetails.IInput input, AEKey what) {
+        if (this.server == null || this.server.isSameThread()
+                || input instanceof IAEPatternInput aeInput && !aeInput.needsLevelToTest(what)) {
+            return input.isValid(what, this.level);
+        }
+
+        var result = this.server.submit(() -> input.isValid(what, this.level));
+        try {
+            while (true) {
+                try {
+                    return result.get(SERVER_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (!this.server.isRunning()) {
+                        // The server stopped and won't test the input anymore
+                        result.cancel(false);
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // Not a valid input, the calculation notices that it was cancelled in handlePausing
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
     }
 
     void addMissing(AEKey what, long amount) {
@@ -82,7 +208,6 @@ void addMissing(AEKey what, long amount) {
 
     public ICraftingPlan run() {
         try {
-            TickHandler.instance().registerCraftingSimulation(this.level, this);
             this.handlePausing();
 
             var plan = computePlan();
@@ -91,8 +216,6 @@ public ICraftingPlan run() {
         } catch (Exception ex) {
             AELog.info(ex, "Exception during crafting calculation.");
             throw new RuntimeException(ex);
-        } finally {
-            this.finish();
         }
     }
 
@@ -172,21 +295,26 @@ void handlePausing() throws InterruptedException {
         if (this.incTime > 100) {
             this.incTime = 0;
 
-            synchronized (this.monitor) {
-                if (this.watch.elapsed(TimeUnit.MICROSECONDS) > this.time) {
-                    this.running = false;
-                    this.watch.stop();
-                    this.monitor.notify();
-                }
-
-                if (!this.running) {
+            if (this.timeBudgetNanos != Long.MAX_VALUE) {
+                if (this.lastTick != serverTick) {
+                    // A new tick has started since the time slice began, start a fresh one
+                    this.lastTick = serverTick;
+                    this.watch.reset().start();
+                } else if (this.watch.elapsed(TimeUnit.NANOSECONDS) > this.timeBudgetNanos) {
                     AELog.craftingDebug("crafting job will now sleep");
 
-                    while (!this.running) {
-                        this.monitor.wait();
+                    synchronized (TICK_MONITOR) {
+                        while (this.lastTick == serverTick) {
+                            if (!isServerRunning()) {
+                                throw new InterruptedException("The server stopped");
+                            }
+                            TICK_MONITOR.wait(SERVER_CHECK_INTERVAL_MS);
+                        }
                     }
 
                     AELog.craftingDebug("crafting job now active");
+                    this.lastTick = serverTick;
+                    this.watch.reset().start();
                 }
             }
 
@@ -197,14 +325,6 @@ void handlePausing() throws InterruptedException {
         this.incTime++;
     }
 
-    private void finish() {
-        synchronized (this.monitor) {
-            this.running = false;
-            this.done = true;
-            this.monitor.notify();
-        }
-    }
-
     public boolean isSimulation() {
         return this.simulate;
     }
@@ -221,41 +341,6 @@ Level getLevel() {
         return this.level;
     }
 
-    /**
-     * returns true if this needs more simulation.
-     *
-     * @param micros microseconds of simulation
-     * @return true if this needs more simulation
-     */
-    public boolean simulateFor(int micros) {
-        this.time = micros;
-
-        synchronized (this.monitor) {
-            if (this.done) {
-                return false;
-            }
-
-            this.watch.reset();
-            this.watch.start();
-            this.running = true;
-
-            AELog.craftingDebug("main thread is now going to sleep");
-
-            this.monitor.notify();
-
-            while (this.running) {
-                try {
-                    this.monitor.wait();
-                } catch (InterruptedException ignored) {
-                }
-            }
-
-            AELog.craftingDebug("main thread is now active");
-        }
-
-        return true;
-    }
-
     private void logCraftingJob(ICraftingPlan plan) {
         if (AELog.isCraftingLogEnabled()) {
             ;
@@ -24,11 +24,8 @@
 
 import org.jetbrains.annotations.Nullable;
 
-import net.minecraft.world.level.Level;
-
 import appeng.api.config.Actionable;
 import appeng.api.crafting.IPatternDetails;
-import appeng.api.networking.crafting.ICraftingService;
 import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
@@ -53,7 +50,6 @@ public class CraftingTreeNode {
     private final CraftingCalculation job;
     // parent node.
     private final CraftingTreeProcess parent;
-    private final Level level;
     /**
      * "Template" of the item this node is making. For top-level node: the count is always 1. For child nodes: the count
      * is that of the template of the corresponding input.
@@ -66,11 +62,10 @@ public class CraftingTreeNode {
     private ArrayList<CraftingTreeProcess> nodes = null;
     private final boolean canEmit;
 
-    public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what, long amount,
+    public CraftingTreeNode(ICraftingPatternLookup cc, CraftingCalculation job, AEKey what, long amount,
             CraftingTreeProcess par, int slot) {
         this.parent = par;
         this.parentInput = slot == -1 ? null : par.details.getInputs()[slot];
-        this.level = job.getLevel();
         this.job = job;
         this.what = findCraftedStack(cc, what);
         this.amount = amount;
@@ -78,14 +73,28 @@ public CraftingTreeNode(ICraftingService cc, CraftingCalculation job, AEKey what
         this.canEmit = cc.canEmitFor(what);
     }
 
-    private AEKey findCraftedStack(ICraftingService cc, AEKey wat) {
+    private AEKey findCraftedStack(ICraftingPatternLookup cc, AEKey wat) {
         if (cc.canEmitFor(wat)) {
             return wat; // if we can emit for something, use that.
         }
 
+        if (parentInput != null) {
+            // The same input is often found in other branches of the tree.
+            var known = job.getCraftedInput(parentInput);
+            if (known == null) {
+                known = findCraftedInput(cc, wat);
+                job.setCraftedInput(parentInput, known);
+            }
+            return known;
+        }
+
+        return wat;
+    }
+
+    private AEKey findCraftedInput(ICraftingPatternLookup cc, AEKey wat) {
         var patterns = cc.getCraftingFor(wat);
 
-        if (patterns.isEmpty() && parentInput != null) {
+        if (patterns.isEmpty()) {
             // No pattern for the exact encoded input. Try to find a pattern for a substitute ingredient. ;)
             long acceptableAmount = parentInput.getPossibleInputs()[0].amount();
 
@@ -96,7 +105,7 @@ private AEKey findCraftedStack(ICraftingService cc, AEKey wat) {
                 }
 
                 var fuzzy = cc.getFuzzyCraftable(possibleInput.what(), fuzzyCandidate -> {
-                    return this.parentInput.isValid(fuzzyCandidate, level);
+                    return job.isValidInput(this.parentInput, fuzzyCandidate);
                 });
 
                 if (fuzzy != null) {
@@ -121,11 +130,11 @@ private void buildChildPatterns() {
 
             // If the node is null, we just skip patterns and let the request (likely) fail.
             if (gridNode != null) {
-                var craftingService = gridNode.getGrid().getCraftingService();
+                var patterns = this.job.getPatterns();
 
-                for (var details : craftingService.getCraftingFor(this.what)) {
+                for (var details : patterns.getCraftingFor(this.what)) {
                     if (this.parent == null || this.parent.notRecursive(details)) {
-                        this.nodes.add(new CraftingTreeProcess(craftingService, job, details, this));
+                        this.nodes.add(new CraftingTreeProcess(patterns, job, details, this));
                     }
                 }
             }
@@ -250,30 +259,39 @@ void request(CraftingSimulationState inv, long requestedAmount,
         } else if (this.nodes.size() > 1) {
             // Multiple branches: try as much as possible of one branch before moving to the next one.
             for (CraftingTreeProcess pro : this.nodes) {
-                try {
-                    while (pro.possible && totalRequestedItems > 0) {
-                        final ChildCraftingSimulationState child = new ChildCraftingSimulationState(inv);
-                        // craft one by one, using the sub inventory as target
-                        pro.request(child, 1);
+                var craftedPerPattern = pro.getOutputCount(this.what);
+                // Crafting one by one is O(amount), so craft in batches instead. Whenever a batch fails, retry with
+                // half the batch size, which finds the same amount as crafting one by one would.
+                long batch = pro.limitsQuantity() || craftedPerPattern <= 0 ? 1 : Long.MAX_VALUE;
+
+                while (pro.possible && totalRequestedItems > 0 && batch > 0) {
+                    if (batch > 1) {
+                        batch = Math.min(batch, (totalRequestedItems + craftedPerPattern - 1) / craftedPerPattern);
+                    }
+
+                    // use the sub inventory as target, so that a failed batch can be discarded
+                    final ChildCraftingSimulationState child = new ChildCraftingSimulationState(inv);
+                    try {
+                        pro.request(child, batch);
+                    } catch (CraftBranchFailure fail) {
+                        batch /= 2;
+                        continue;
+                    }
 
-                        // by now we have succeeded, as request throws an exception in case of failure
-                        var available = child.extract(this.what, totalRequestedItems, Actionable.MODULATE);
+                    // by now we have succeeded, as request throws an exception in case of failure
+                    var available = child.extract(this.what, totalRequestedItems, Actionable.MODULATE);
 
-                        if (available != 0) {
-                            child.applyDiff(inv);
+                    if (available != 0) {
+                        child.applyDiff(inv);
 
-                            totalRequestedItems -= available;
+                        totalRequestedItems -= available;
 
-                            if (totalRequestedItems <= 0) {
-                                return;
-                            }
-                        } else {
-                            pro.possible = false; // ;P
+                        if (totalRequestedItems <= 0) {
+                            return;
                         }
+                    } else {
+                        pro.possible = false; // ;P
                     }
-                } catch (CraftBranchFailure fail) {
-                    // TODO: why try again after a failure? just in case we receive the right inputs by chance?
-                    pro.possible = true;
                 }
             }
         }
@@ -304,7 +322,8 @@ private void addContainerItems(AEKey template, long multiplier,
     private Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv) {
         if (this.parentInput == null)
             return List.of(new InputTemplate(what, 1));
-        return CraftingCpuHelper.getValidItemTemplates(inv, this.parentInput, level);
+        return CraftingCpuHelper.getValidItemTemplates(inv, this.parentInput,
+                template -> job.isValidInput(this.parentInput, template));
     }
 
     long getNodeCount() {
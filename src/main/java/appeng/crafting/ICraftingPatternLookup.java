@@ -0,0 +1,91 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting;
+
+import java.util.Collection;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.networking.crafting.ICraftingService;
+import appeng.api.stacks.AEKey;
+import appeng.api.storage.AEKeyFilter;
+
+/**
+ * The patterns and emitable keys a {@link CraftingCalculation} plans with. Calculations run concurrently with the
+ * server thread, so the answers of a lookup must not change while a calculation is using it.
+ *
+ * @see ICraftingService
+ */
+public interface ICraftingPatternLookup {
+
+    /**
+     * @see ICraftingService#getCraftingFor(AEKey)
+     */
+    Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft);
+
+    /**
+     * @see ICraftingService#getFuzzyCraftable(AEKey, AEKeyFilter)
+     */
+    @Nullable
+    AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter);
+
+    /**
+     * @see ICraftingService#canEmitFor(AEKey)
+     */
+    boolean canEmitFor(AEKey what);
+
+    /**
+     * Returns a lookup for the patterns of the given crafting service. Services that implement {@link SnapshotSource}
+     * provide an immutable snapshot of their current patterns. Other implementations are queried directly.
+     */
+    static ICraftingPatternLookup of(ICraftingService craftingService) {
+        if (craftingService instanceof SnapshotSource source) {
+            return source.getPatternSnapshot();
+        }
+
+        return new ICraftingPatternLookup() {
+            @Override
+            public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+                return craftingService.getCraftingFor(whatToCraft);
+            }
+
+            @Nullable
+            @Override
+            public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+                return craftingService.getFuzzyCraftable(whatToCraft, filter);
+            }
+
+            @Override
+            public boolean canEmitFor(AEKey what) {
+                return craftingService.canEmitFor(what);
+            }
+        };
+    }
+
+    /**
+     * Implemented by crafting services that can provide an immutable snapshot of their patterns.
+     */
+    interface SnapshotSource {
+        /**
+         * @return An immutable snapshot of the patterns, which must be safe to use from other threads.
+         */
+        ICraftingPatternLookup getPatternSnapshot();
+    }
+}
@@ -20,6 +20,7 @@
 
 import java.util.ArrayList;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import com.google.common.collect.Iterables;
 
@@ -33,6 +34,7 @@
 import appeng.api.networking.IGrid;
 import appeng.api.networking.crafting.ICraftingPlan;
 import appeng.api.networking.security.IActionSource;
+import appeng.api.stacks.AEKey;
 import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
 import appeng.crafting.inv.ICraftingInventory;
@@ -167,6 +169,15 @@ public static void reinjectPatternInputs(ICraftingInventory sourceInv,
      */
     public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv,
             IPatternDetails.IInput input, Level level) {
+        return getValidItemTemplates(inv, input, what -> input.isValid(what, level));
+    }
+
+    /**
+     * Get all potential input templates that count as "1" ingredient according to the given inputs for a pattern slot,
+     * and which are available, using the given predicate instead of {@link IPatternDetails.IInput#isValid}.
+     */
+    public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory inv,
+            IPatternDetails.IInput input, Predicate<AEKey> isValid) {
         var possibleInputs = input.getPossibleInputs();
 
         var substitutes = new ArrayList<InputTemplate>(possibleInputs.length);
@@ -177,7 +188,7 @@ public static Iterable<InputTemplate> getValidItemTemplates(ICraftingInventory i
             }
         }
 
-        return Iterables.filter(substitutes, stack -> input.isValid(stack.key(), level));
+        return Iterables.filter(substitutes, stack -> isValid.test(stack.key()));
     }
 
     /**
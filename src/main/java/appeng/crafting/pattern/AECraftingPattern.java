@@ -287,21 +287,26 @@ private Boolean getTestResult(int slot, AEItemKey what) {
         if (what == null || what.hasComponents()) {
             return null;
         }
-        var cache = isValidCache[slot];
-        if (cache == null) {
-            return null;
-        } else {
-            return cache.get(what.getItem());
+        // Patterns are shared with crafting calculations that run concurrently
+        synchronized (isValidCache) {
+            var cache = isValidCache[slot];
+            if (cache == null) {
+                return null;
+            } else {
+                return cache.get(what.getItem());
+            }
         }
     }
 
     private void setTestResult(int slot, AEItemKey what, boolean result) {
         if (what != null && !what.hasComponents()) {
-            var cache = isValidCache[slot];
-            if (cache == null) {
-                cache = isValidCache[slot] = new IdentityHashMap<>();
+            synchronized (isValidCache) {
+                var cache = isValidCache[slot];
+                if (cache == null) {
+                    cache = isValidCache[slot] = new IdentityHashMap<>();
+                }
+                cache.put(what.getItem(), result);
             }
-            cache.put(what.getItem(), result);
         }
     }
 
@@ -559,7 +564,7 @@ public static PatternDetailsTooltip getInvalidPatternTooltip(ItemStack stack, Le
         return tooltip;
     }
 
-    private class Input implements IInput {
+    private class Input implements IAEPatternInput {
         private final int slot;
         private final GenericStack[] possibleInputs;
         private final long multiplier;
@@ -593,6 +598,11 @@ public long getMultiplier() {
             return multiplier;
         }
 
+        @Override
+        public boolean needsLevelToTest(AEKey input) {
+            return !input.matches(possibleInputs[0]) && canSubstitute() && input instanceof AEItemKey;
+        }
+
         @Override
         public boolean isValid(AEKey input, Level level) {
             if (input.matches(possibleInputs[0])) {
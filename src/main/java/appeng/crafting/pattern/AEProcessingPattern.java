@@ -160,7 +160,7 @@ public static PatternDetailsTooltip getInvalidPatternTooltip(ItemStack stack, Le
         return tooltip;
     }
 
-    private static class Input implements IInput {
+    private static class Input implements IAEPatternInput {
         private final GenericStack[] template;
         private final long multiplier;
 
@@ -179,6 +179,11 @@ public long getMultiplier() {
             return multiplier;
         }
 
+        @Override
+        public boolean needsLevelToTest(AEKey input) {
+            return false;
+        }
+
         @Override
         public boolean isValid(AEKey input, Level level) {
             return input.matches(template[0]);
@@ -302,7 +302,7 @@ public static PatternDetailsTooltip getInvalidTooltip(ItemStack stack, Level lev
         return tooltip;
     }
 
-    private class Input implements IInput {
+    private class Input implements IAEPatternInput {
         private final GenericStack[] possibleInputs;
         private final int gridSlot;
 
@@ -332,6 +332,11 @@ public long getMultiplier() {
             return 1;
         }
 
+        @Override
+        public boolean needsLevelToTest(AEKey input) {
+            return !input.matches(possibleInputs[0]) && canSubstitute() && input instanceof AEItemKey;
+        }
+
         @Override
         public boolean isValid(AEKey input, Level level) {
             if (input.matches(possibleInputs[0])) {
@@ -266,7 +266,7 @@ public static void encode(ItemStack stack, RecipeHolder<StonecutterRecipe> recip
                 recipe.id()));
     }
 
-    private class Input implements IInput {
+    private class Input implements IAEPatternInput {
         private final GenericStack[] possibleInputs;
 
         private Input() {
@@ -293,6 +293,11 @@ public long getMultiplier() {
             return 1;
         }
 
+        @Override
+        public boolean needsLevelToTest(AEKey input) {
+            return !input.matches(possibleInputs[0]) && canSubstitute() && input instanceof AEItemKey;
+        }
+
         @Override
         public boolean isValid(AEKey input, Level level) {
             if (input.matches(possibleInputs[0])) {
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting.pattern;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.world.level.Level;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEItemKey;
+
+/**
+ * Server-wide cache of decoded patterns. Decoding a crafting pattern looks up and tests its recipe, which adds up when
+ * the same patterns are loaded by many pattern providers and molecular assemblers. Since patterns are immutable, every
+ * machine can share the same decoded instance.
+ * <p/>
+ * The cache holds a bounded number of patterns, evicting the least recently used ones, and is cleared whenever the
+ * recipes are reloaded or the server stops. Patterns decoded on the client are not cached.
+ */
+public final class DecodedPatternCache {
+    private static final int MAX_SIZE = 8192;
+
+    private static final Map<AEItemKey, Optional<IPatternDetails>> CACHE = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<AEItemKey, Optional<IPatternDetails>> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    // Guarded by CACHE
+    private static long hits;
+    private static long misses;
+    // Incremented when the cache is cleared, to discard patterns that were decoded with the previous recipes
+    private static int generation;
+
+    static {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> clear());
+        // Don't keep the patterns and their recipes of a stopped integrated server alive
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> clear());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> clear());
+    }
+
+    private DecodedPatternCache() {
+    }
+
+    @Nullable
+    public static IPatternDetails get(AEItemKey what, Level level,
+            BiFunction<AEItemKey, Level, IPatternDetails> decoder) {
+        if (level.isClientSide()) {
+            return decoder.apply(what, level);
+        }
+
+        int decodedGeneration;
+        synchronized (CACHE) {
+            var cached = CACHE.get(what);
+            if (cached != null) {
+                hits++;
+                return cached.orElse(null);
+            }
+            misses++;
+            decodedGeneration = generation;
+        }
+
+        var decoded = decoder.apply(what, level);
+
+        synchronized (CACHE) {
+            if (decodedGeneration == generation) {
+                CACHE.put(what, Optional.ofNullable(decoded));
+            }
+        }
+        return decoded;
+    }
+
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            generation++;
+        }
+    }
+
+    public static long getHits() {
+        synchronized (CACHE) {
+            return hits;
+        }
+    }
+
+    public static long getMisses() {
+        synchronized (CACHE) {
+            return misses;
+        }
+    }
+
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+}
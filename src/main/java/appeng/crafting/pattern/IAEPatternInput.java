@@ -0,0 +1,34 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.crafting.pattern;
+
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEKey;
+
+/**
+ * Implemented by the inputs of AE2's own patterns. Crafting calculations run concurrently with the server thread, and
+ * only need to hand testing an input over to the server thread if the test may read the level.
+ */
+public interface IAEPatternInput extends IPatternDetails.IInput {
+    /**
+     * @return True if {@link #isValid} has to check the given key against the recipe of the pattern, which may read the
+     *         level. Exact matches and processing pattern inputs are tested without the level.
+     */
+    boolean needsLevelToTest(AEKey input);
+}
@@ -24,8 +24,6 @@
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.LinkedListMultimap;
-import com.google.common.collect.Multimap;
 
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
@@ -41,11 +39,11 @@
 import net.minecraft.world.level.chunk.LevelChunk;
 
 import appeng.blockentity.AEBaseBlockEntity;
-import appeng.core.AEConfig;
 import appeng.core.AELog;
 import appeng.crafting.CraftingCalculation;
 import appeng.me.Grid;
 import appeng.me.GridNode;
+import appeng.spatial.SpatialChunkUpdates;
 import appeng.util.ILevelRunnable;
 import appeng.util.Platform;
 
@@ -58,7 +56,6 @@ public class TickHandler {
 
     private static final TickHandler INSTANCE = new TickHandler();
     private final Queue<ILevelRunnable> serverQueue = new ArrayDeque<>();
-    private final Multimap<LevelAccessor, CraftingCalculation> craftingJobs = LinkedListMultimap.create();
     private final Map<LevelAccessor, Queue<ILevelRunnable>> callQueue = new HashMap<>();
     private final ServerBlockEntityRepo blockEntities = new ServerBlockEntityRepo();
     private final ServerGridRepo grids = new ServerGridRepo();
@@ -172,6 +169,7 @@ public void shutdown() {
         Platform.assertServerThread();
         this.blockEntities.clear();
         this.grids.clear();
+        SpatialChunkUpdates.clear();
     }
 
     /**
@@ -208,6 +206,7 @@ public void onUnloadLevel(ServerLevel level) {
 
         this.blockEntities.removeLevel(level);
         this.callQueue.remove(level);
+        SpatialChunkUpdates.onUnloadLevel(level);
     }
 
     private void onServerLevelTickStart(ServerLevel level) {
@@ -234,7 +233,6 @@ private void onServerLevelTickStart(ServerLevel level) {
     }
 
     private void onServerLevelTickEnd(ServerLevel level) {
-        this.simulateCraftingJobs(level);
         this.readyBlockEntities(level);
 
         // tick networks
@@ -289,39 +287,13 @@ private void onServerTickEnd() {
                     processQueueElementsRemaining);
         }
 
-        tickCounter++;
-    }
-
-    public void registerCraftingSimulation(Level level, CraftingCalculation craftingCalculation) {
-        Preconditions.checkArgument(!level.isClientSide, "Trying to register a crafting job for a client-level");
-
-        synchronized (this.craftingJobs) {
-            this.craftingJobs.put(level, craftingCalculation);
-        }
-    }
+        // resume crafting calculations that used up their time for the previous tick
+        CraftingCalculation.onServerTick();
 
-    /**
-     * Simulates the current crafting requests before they user can submit them to be processed.
-     */
-    private void simulateCraftingJobs(LevelAccessor level) {
-        synchronized (this.craftingJobs) {
-            final Collection<CraftingCalculation> jobSet = this.craftingJobs.get(level);
+        // relight and send the chunks changed by spatial transfers
+        SpatialChunkUpdates.onServerTick();
 
-            if (!jobSet.isEmpty()) {
-                final int jobSize = jobSet.size();
-                final int microSecondsPerTick = AEConfig.instance().getCraftingCalculationTimePerTick() * 1000;
-                final int simTime = Math.max(1, microSecondsPerTick / jobSize);
-
-                final Iterator<CraftingCalculation> i = jobSet.iterator();
-
-                while (i.hasNext()) {
-                    final CraftingCalculation cj = i.next();
-                    if (!cj.simulateFor(simTime)) {
-                        i.remove();
-                    }
-                }
-            }
-        }
+        tickCounter++;
     }
 
     /**
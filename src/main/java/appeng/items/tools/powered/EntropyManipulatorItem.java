@@ -60,6 +60,7 @@
 import appeng.core.AEConfig;
 import appeng.hooks.IBlockTool;
 import appeng.items.tools.powered.powersink.AEBasePoweredItem;
+import appeng.recipes.RecipeIndex;
 import appeng.recipes.entropy.EntropyMode;
 import appeng.recipes.entropy.EntropyRecipe;
 import appeng.util.InteractionUtil;
@@ -72,6 +73,12 @@ public class EntropyManipulatorItem extends AEBasePoweredItem implements IBlockT
      */
     public static final int ENERGY_PER_USE = 1600;
 
+    /**
+     * Indexes entropy recipes by their input block. Recipes that only match a fluid have to be tested for every block.
+     */
+    private static final RecipeIndex<Block, EntropyRecipe> BY_INPUT_BLOCK = new RecipeIndex<>(EntropyRecipe.TYPE,
+            recipe -> recipe.getInput().block().map(input -> List.of(input.block())).orElse(null));
+
     public EntropyManipulatorItem(Properties props) {
         super(AEConfig.instance().getEntropyManipulatorBattery(), props);
     }
@@ -279,11 +286,10 @@ private boolean performInWorldSmelting(ItemStack item, Level level, Player p, Bl
         return true;
     }
 
-    @SuppressWarnings("removal")
     @Nullable
     private static EntropyRecipe findRecipe(Level level, EntropyMode mode, BlockState blockState,
             FluidState fluidState) {
-        for (var holder : level.getRecipeManager().byType(EntropyRecipe.TYPE)) {
+        for (var holder : BY_INPUT_BLOCK.getCandidates(level, blockState.getBlock())) {
             var recipe = holder.value();
             if (recipe.matches(mode, blockState, fluidState)) {
                 return recipe;
@@ -37,6 +37,7 @@
 
 import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 
 import appeng.api.networking.*;
 import appeng.api.networking.crafting.ICraftingService;
@@ -63,6 +64,12 @@ public class Grid implements IGrid {
 
     private final SetMultimap<Class<?>, IGridNode> machines = MultimapBuilder.hashKeys().hashSetValues().build();
     private final GridServiceContainer services;
+    private final GridEventBus.BoundHandlers eventHandlers = new GridEventBus.BoundHandlers(this);
+    /**
+     * The nodes that are notified when a state changes for all nodes of the grid at once.
+     */
+    private final Map<IGridNodeListener.State, Set<GridNode>> stateSubscribers = new EnumMap<>(
+            IGridNodeListener.State.class);
     // Becomes null after the last node has left the grid.
     @Nullable
     private GridNode pivot;
@@ -87,6 +94,9 @@ public static Grid create(GridNode center) {
 
     private Grid(GridNode center) {
         this.pivot = Objects.requireNonNull(center);
+        for (var state : IGridNodeListener.State.values()) {
+            this.stateSubscribers.put(state, new ReferenceLinkedOpenHashSet<>());
+        }
         this.services = GridServicesInternal.createServices(this);
     }
 
@@ -106,6 +116,9 @@ void remove(GridNode gridNode) {
 
         var machineClass = gridNode.getOwner().getClass();
         this.machines.remove(machineClass, gridNode);
+        for (var subscribers : this.stateSubscribers.values()) {
+            subscribers.remove(gridNode);
+        }
 
         if (this.pivot == gridNode) {
             var nodesIt = machines.values().iterator();
@@ -123,6 +136,11 @@ void remove(GridNode gridNode) {
     void add(GridNode gridNode, @Nullable CompoundTag savedData) {
         // track node.
         this.machines.put(gridNode.getOwner().getClass(), gridNode);
+        for (var entry : this.stateSubscribers.entrySet()) {
+            if (gridNode.isInterestedIn(entry.getKey())) {
+                entry.getValue().add(gridNode);
+            }
+        }
 
         for (var service : services.services().values()) {
             service.addNode(gridNode, savedData);
@@ -147,10 +165,14 @@ public <C extends IGridService> C getService(Class<C> iface) {
 
     @Override
     public <T extends GridEvent> T postEvent(T ev) {
-        GridEventBus.postEvent(this, ev);
+        this.eventHandlers.post(ev);
         return ev;
     }
 
+    GridEventBus.BoundHandlers getEventHandlers() {
+        return this.eventHandlers;
+    }
+
     @Override
     public Iterable<Class<?>> getMachineClasses() {
         return this.machines.keySet();
@@ -251,6 +273,9 @@ public void setImportantFlag(int i, boolean publicHasPower) {
         this.priority = this.priority & ~flag | (publicHasPower ? flag : 0);
     }
 
+    /**
+     * Notifies all nodes whose listener is {@link IGridNodeListener#isInterestedIn interested} in the given state.
+     */
     public void notifyAllNodes(IGridNodeListener.State state) {
         if (!ITERATION_BUFFER.isEmpty()) {
             throw new IllegalStateException("Recursively trying to notify all nodes is not allowed");
@@ -260,7 +285,7 @@ public void notifyAllNodes(IGridNodeListener.State state) {
             // We're copying the nodes to a temporary buffer here because changing the power state of a node
             // may actually cause adjacent nodes to suddenly boot (i.e. QNBs) and modify the grid while
             // we're iterating over it.
-            ITERATION_BUFFER.addAll(getNodes());
+            ITERATION_BUFFER.addAll(this.stateSubscribers.get(state));
 
             for (IGridNode node : ITERATION_BUFFER) {
                 ((GridNode) node).notifyStatusChange(state);
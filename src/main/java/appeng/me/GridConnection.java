@@ -33,6 +33,7 @@
 import appeng.api.networking.IGridNodeListener;
 import appeng.api.networking.pathing.ChannelMode;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 
 public class GridConnection implements IGridConnection, IPathItem {
 
@@ -53,6 +54,11 @@ public class GridConnection implements IGridConnection, IPathItem {
     @Nullable
     private Direction fromAtoB;
     private GridNode sideB;
+    /**
+     * The side that was routed to the controller through this connection when it was destroyed.
+     */
+    @Nullable
+    private GridNode routedSide;
 
     private GridConnection(GridNode aNode, GridNode bNode, @Nullable Direction fromAtoB) {
         this.sideA = aNode;
@@ -88,14 +94,14 @@ public Direction getDirection(IGridNode side) {
     @Override
     public void destroy() {
         // a connection was destroyed RE-PATH!! (this is not done immediately)
-        var p = this.sideA.getInternalGrid().getPathingService();
-        p.repath();
+        rememberRoutedSide();
+        var p = PathingService.get(this.sideA.getInternalGrid());
+        p.removeConnection(this);
 
         this.sideA.removeConnection(this);
         this.sideB.removeConnection(this);
 
-        this.sideA.validateGrid();
-        this.sideB.validateGrid();
+        GridNode.validateConnected(this.sideA, this.sideB);
     }
 
     @Override
@@ -172,6 +178,32 @@ public int propagateChannelsUpwards() {
         return this.usedChannels;
     }
 
+    /**
+     * Remembers which side was routed to the controller through this connection, while both sides still hold it.
+     */
+    void rememberRoutedSide() {
+        if (this.sideB.getControllerRoute() == this) {
+            this.routedSide = this.sideB;
+        } else if (this.sideA.getControllerRoute() == this) {
+            this.routedSide = this.sideA;
+        } else {
+            this.routedSide = null;
+        }
+    }
+
+    /**
+     * @return The side that was routed to the controller through this connection when it was destroyed, or null if
+     *         neither side was.
+     */
+    @Nullable
+    public GridNode getRoutedSide() {
+        return this.routedSide;
+    }
+
+    public void incrementChannelCount(int usedChannels) {
+        this.usedChannels += usedChannels;
+    }
+
     @Override
     public void finalizeChannels() {
         if (this.lastUsedChannels != this.usedChannels) {
@@ -217,9 +249,9 @@ public static GridConnection create(IGridNode aNode, IGridNode bNode,
 
         mergeGrids(a, b);
 
-        // a connection was destroyed RE-PATH!!
-        var p = connection.sideA.getInternalGrid().getPathingService();
-        p.repath();
+        // a connection was created RE-PATH!!
+        var p = PathingService.get(connection.sideA.getInternalGrid());
+        p.addConnection(connection);
 
         connection.sideA.addConnection(connection);
         connection.sideB.addConnection(connection);
@@ -23,46 +23,105 @@
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 
 import appeng.api.networking.IGrid;
+import appeng.api.networking.IGridService;
 import appeng.api.networking.events.GridEvent;
 
+/**
+ * Dispatches grid events to the handlers registered for their class.
+ * <p/>
+ * Every grid binds the handlers to itself once per event class, i.e. handlers for grid services are bound to the
+ * grid's service instance, so posting an event only has to look up the bound handlers by the event's class and call
+ * them.
+ */
 public final class GridEventBus {
-    private static final Map<Class<? extends GridEvent>, Subscriptions<?>> EVENTS = new HashMap<>();
-
-    private static class Subscriptions<T extends GridEvent> {
-        private final Class<T> eventClass;
-        private final List<BiConsumer<IGrid, T>> handlers = new ArrayList<>();
-
-        private Subscriptions(Class<T> eventClass) {
-            this.eventClass = eventClass;
-        }
-
-        public void subscribe(BiConsumer<IGrid, T> handler) {
-            handlers.add(handler);
-        }
+    private static final Map<Class<? extends GridEvent>, List<Function<IGrid, Consumer<?>>>> EVENTS = new HashMap<>();
+    /**
+     * Incremented whenever a handler is added, so grids rebind their handlers.
+     */
+    private static int version;
 
-        public void invoke(IGrid grid, GridEvent event) {
-            var typedEvent = eventClass.cast(event);
-            for (var handler : handlers) {
-                handler.accept(grid, typedEvent);
-            }
-        }
+    private GridEventBus() {
     }
 
-    private GridEventBus() {
+    public static <T extends GridEvent> void subscribe(Class<T> eventClass, BiConsumer<IGrid, T> handler) {
+        addBinder(eventClass, grid -> event -> handler.accept(grid, eventClass.cast(event)));
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T extends GridEvent> Subscriptions<T> getSubscriptions(Class<T> eventClass) {
-        return (Subscriptions<T>) EVENTS.computeIfAbsent(eventClass, Subscriptions::new);
+    /**
+     * Subscribes a handler that is called with the service of the grid that the event was posted to.
+     */
+    public static <T extends GridEvent, C extends IGridService> void subscribeService(Class<T> eventClass,
+            Class<C> serviceClass, BiConsumer<C, T> handler) {
+        addBinder(eventClass, grid -> {
+            var service = grid.getService(serviceClass);
+            return event -> handler.accept(service, eventClass.cast(event));
+        });
     }
 
-    public static <T extends GridEvent> void subscribe(Class<T> eventClass, BiConsumer<IGrid, T> handler) {
-        getSubscriptions(eventClass).subscribe(handler);
+    private static void addBinder(Class<? extends GridEvent> eventClass, Function<IGrid, Consumer<?>> binder) {
+        EVENTS.computeIfAbsent(eventClass, key -> new ArrayList<>()).add(binder);
+        version++;
     }
 
     public static void postEvent(Grid g, GridEvent e) {
-        getSubscriptions(e.getClass()).invoke(g, e);
+        g.getEventHandlers().post(e);
+    }
+
+    /**
+     * The handlers of all event classes posted to a grid so far, bound to that grid.
+     */
+    static final class BoundHandlers {
+        private static final Consumer<GridEvent>[] NO_HANDLERS = createArray(0);
+
+        private final IGrid grid;
+        private final Map<Class<?>, Consumer<GridEvent>[]> handlers = new Reference2ObjectOpenHashMap<>();
+        private int version = -1;
+
+        BoundHandlers(IGrid grid) {
+            this.grid = grid;
+        }
+
+        void post(GridEvent event) {
+            if (version != GridEventBus.version) {
+                handlers.clear();
+                version = GridEventBus.version;
+            }
+
+            var eventHandlers = handlers.get(event.getClass());
+            if (eventHandlers == null) {
+                eventHandlers = bind(event.getClass());
+                handlers.put(event.getClass(), eventHandlers);
+            }
+
+            for (var handler : eventHandlers) {
+                handler.accept(event);
+            }
+        }
+
+        // The binders are registered for the exact class of the event, and cast the event to that class
+        @SuppressWarnings("unchecked")
+        private Consumer<GridEvent>[] bind(Class<?> eventClass) {
+            var binders = EVENTS.get(eventClass);
+            if (binders == null) {
+                return NO_HANDLERS;
+            }
+
+            var result = createArray(binders.size());
+            for (int i = 0; i < result.length; i++) {
+                result[i] = (Consumer<GridEvent>) binders.get(i).apply(grid);
+            }
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Consumer<GridEvent>[] createArray(int size) {
+            return (Consumer<GridEvent>[]) new Consumer<?>[size];
+        }
     }
 }
@@ -53,6 +53,7 @@
 import appeng.blockentity.networking.ControllerBlockEntity;
 import appeng.core.AELog;
 import appeng.me.pathfinding.IPathItem;
+import appeng.me.service.PathingService;
 import appeng.util.IDebugExportable;
 import appeng.util.JsonStreamUtil;
 
@@ -157,6 +158,10 @@ public void notifyStatusChange(IGridNodeListener.State reason) {
         callListener((listener, owner, node) -> listener.onStateChanged(owner, node, reason));
     }
 
+    boolean isInterestedIn(IGridNodeListener.State state) {
+        return listener.isInterestedIn(state);
+    }
+
     void addConnection(IGridConnection gridConnection) {
         connections.add((GridConnection) gridConnection);
         if (gridConnection.isInWorld()) {
@@ -186,11 +191,51 @@ void validateGrid() {
             return;
         }
 
-        var gsd = new GridSplitDetector(this.getInternalGrid().getPivot());
-        this.beginVisit(gsd);
-        if (!gsd.isPivotFound()) {
-            var gp = new GridPropagator(Grid.create(this));
-            this.beginVisit(gp);
+        var pivot = (GridNode) this.getInternalGrid().getPivot();
+        if (pivot == this) {
+            return;
+        }
+
+        if (!pivot.ready || pivot.myGrid != this.myGrid) {
+            // Search the entire grid for the pivot instead, since it may be in the process of being destroyed
+            var gsd = new GridSplitDetector(pivot);
+            this.beginVisit(gsd);
+            if (!gsd.isPivotFound()) {
+                var gp = new GridPropagator(Grid.create(this));
+                this.beginVisit(gp);
+            }
+            return;
+        }
+
+        validateConnected(this, pivot);
+    }
+
+    /**
+     * Checks that two nodes of the same grid are still connected, and otherwise splits the grid. The nodes of the
+     * smaller part are moved to a new grid, while the larger part keeps the existing grid.
+     */
+    static void validateConnected(GridNode a, GridNode b) {
+        if (!a.ready || !b.ready || a.myGrid != b.myGrid) {
+            a.validateGrid();
+            b.validateGrid();
+            return;
+        }
+
+        var separatedNodes = GridSplitSearch.findSeparatedNodes(a, b);
+        if (separatedNodes == null) {
+            return;
+        }
+
+        var grid = a.getInternalGrid();
+        var separatedNode = separatedNodes.contains(a) ? a : b;
+        if (separatedNodes.contains(grid.getPivot())) {
+            // The pivot has to be one of the nodes that stay on the grid
+            grid.setPivot(separatedNode == a ? b : a);
+        }
+
+        var newGrid = Grid.create(separatedNode);
+        for (var node : separatedNodes) {
+            node.setGrid(newGrid);
         }
     }
 
@@ -346,6 +391,7 @@ public void destroy() {
             }
 
             // Ensure the other side holds no reference to this node anymore
+            connection.rememberRoutedSide();
             otherSide.removeConnection(connection);
         }
 
@@ -365,7 +411,7 @@ public void destroy() {
             otherSide.validateGrid();
 
             // Cause a repath later. This is not done immediately.
-            otherSide.getInternalGrid().getPathingService().repath();
+            PathingService.get(otherSide.getInternalGrid()).removeConnection(connection);
         }
 
         connections.clear();
@@ -415,6 +461,13 @@ public boolean hasNoConnections() {
         return this.connections.isEmpty();
     }
 
+    /**
+     * @return False if this node has not been readied yet, or is being destroyed.
+     */
+    public boolean isReady() {
+        return this.ready;
+    }
+
     @Override
     public boolean hasGridBooted() {
         if (myGrid == null) {
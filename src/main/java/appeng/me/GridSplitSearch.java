@@ -0,0 +1,102 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+/**
+ * Determines whether two nodes are still connected after a connection has been removed from their grid.
+ * <p/>
+ * Instead of searching the entire grid for one of the nodes, both nodes are searched from at the same time, one node
+ * at a time each. The search stops as soon as both searches meet, which happens quickly if the removed connection was
+ * part of a loop. Otherwise the search stops as soon as one side has run out of nodes to visit, which means that side
+ * has been split off from the rest of the grid, and is the smaller of the two. The cost of detecting a split is thus
+ * proportional to the size of the smaller part, not to the size of the grid.
+ */
+final class GridSplitSearch {
+    private GridSplitSearch() {
+    }
+
+    /**
+     * @return Null if both nodes are still connected. Otherwise, all nodes that are connected to the node that has the
+     *         smaller part of the grid, including that node itself.
+     */
+    @Nullable
+    static Set<GridNode> findSeparatedNodes(GridNode a, GridNode b) {
+        if (a == b) {
+            return null;
+        }
+
+        var searchA = new Search(a);
+        var searchB = new Search(b);
+        while (true) {
+            if (searchA.visitNext(searchB)) {
+                return null;
+            }
+            if (searchA.isExhausted()) {
+                return searchA.visited;
+            }
+            if (searchB.visitNext(searchA)) {
+                return null;
+            }
+            if (searchB.isExhausted()) {
+                return searchB.visited;
+            }
+        }
+    }
+
+    private static final class Search {
+        private final Set<GridNode> visited = new ReferenceOpenHashSet<>();
+        private final ArrayDeque<GridNode> queue = new ArrayDeque<>();
+
+        Search(GridNode start) {
+            visited.add(start);
+            queue.add(start);
+        }
+
+        /**
+         * Visits the connections of the next node in the queue.
+         *
+         * @return True if a node was reached that has already been visited by the other search.
+         */
+        boolean visitNext(Search other) {
+            var node = queue.poll();
+            // Use the connection list directly, getConnections() copies it
+            for (var connection : node.connections) {
+                var otherSide = (GridNode) connection.getOtherSide(node);
+                if (other.visited.contains(otherSide)) {
+                    return true;
+                }
+                if (visited.add(otherSide)) {
+                    queue.add(otherSide);
+                }
+            }
+            return false;
+        }
+
+        boolean isExhausted() {
+            return queue.isEmpty();
+        }
+    }
+}
@@ -29,6 +29,7 @@
 
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 
 import appeng.api.config.Actionable;
 import appeng.api.config.FuzzyMode;
@@ -43,11 +44,13 @@
 import appeng.api.storage.cells.StorageCell;
 import appeng.api.upgrades.IUpgradeInventory;
 import appeng.core.definitions.AEItems;
+import appeng.me.storage.IChangeReportingStorage;
+import appeng.me.storage.IStorageChangeListener;
 import appeng.util.ConfigInventory;
 import appeng.util.prioritylist.FuzzyPriorityList;
 import appeng.util.prioritylist.IPartitionList;
 
-public class BasicCellInventory implements StorageCell {
+public class BasicCellInventory implements StorageCell, IChangeReportingStorage {
     private static final int MAX_ITEM_TYPES = 63;
 
     @Nullable
@@ -59,11 +62,17 @@ public class BasicCellInventory implements StorageCell {
     private int storedItems;
     private long storedItemCount;
     private Object2LongMap<AEKey> storedAmounts;
+    /**
+     * Keys whose amount changed since the cell was last persisted.
+     */
+    private final ObjectOpenHashSet<AEKey> changedKeys = new ObjectOpenHashSet<>();
     private final ItemStack i;
     private final IBasicCellItem cellType;
     private final long maxItemsPerType; // max items per type, basically infinite unless there is a distribution card.
     private final boolean hasVoidUpgrade;
     private boolean isPersisted = true;
+    @Nullable
+    private IStorageChangeListener changeListener;
 
     private BasicCellInventory(IBasicCellItem cellType, ItemStack o, @Nullable ISaveProvider container) {
         this.i = o;
@@ -80,7 +89,9 @@ private BasicCellInventory(IBasicCellItem cellType, ItemStack o, @Nullable ISave
         this.container = container;
         var storedStacks = getStoredStacks();
         this.storedItems = storedStacks.size();
-        this.storedItemCount = storedStacks.stream().mapToLong(GenericStack::amount).sum();
+        for (var stack : storedStacks) {
+            this.storedItemCount += stack.amount();
+        }
         this.storedAmounts = null;
         this.keyType = cellType.getKeyType();
 
@@ -178,24 +189,38 @@ protected Object2LongMap<AEKey> getCellItems() {
         return this.storedAmounts;
     }
 
+    /**
+     * Writes the changed amounts to the item stack. The stored list is never modified after it was set on the stack, so
+     * a new list is built that reuses the stacks of all unchanged keys.
+     */
     @Override
     public void persist() {
         if (this.isPersisted) {
             return;
         }
 
-        // add new pretty stuff...
-        var itemCount = 0L;
+        var previousStacks = getStoredStacks();
         var stacks = new ArrayList<GenericStack>(storedAmounts.size());
 
-        for (var entry : this.storedAmounts.object2LongEntrySet()) {
-            long amount = entry.getLongValue();
-            itemCount += amount;
+        for (var stack : previousStacks) {
+            if (!changedKeys.remove(stack.what())) {
+                stacks.add(stack);
+            } else {
+                long amount = storedAmounts.getLong(stack.what());
+                if (amount > 0) {
+                    stacks.add(new GenericStack(stack.what(), amount));
+                }
+            }
+        }
 
+        // The remaining keys were not stored before
+        for (var what : changedKeys) {
+            long amount = storedAmounts.getLong(what);
             if (amount > 0) {
-                stacks.add(new GenericStack(entry.getKey(), amount));
+                stacks.add(new GenericStack(what, amount));
             }
         }
+        changedKeys.clear();
 
         if (stacks.isEmpty()) {
             i.remove(AEComponents.STORAGE_CELL_INV);
@@ -203,19 +228,16 @@ public void persist() {
             i.set(AEComponents.STORAGE_CELL_INV, stacks);
         }
 
-        this.storedItems = (short) this.storedAmounts.size();
-
-        this.storedItemCount = itemCount;
         this.isPersisted = true;
     }
 
-    protected void saveChanges() {
-        // recalculate values
-        this.storedItems = (short) this.storedAmounts.size();
-        this.storedItemCount = 0;
-        for (var storedAmount : this.storedAmounts.values()) {
-            this.storedItemCount += storedAmount;
-        }
+    /**
+     * Updates the running totals after the amount of a key has changed, and schedules the cell to be persisted.
+     */
+    protected void saveChanges(AEKey what, long delta) {
+        this.storedItems = this.storedAmounts.size();
+        this.storedItemCount += delta;
+        this.changedKeys.add(what);
 
         this.isPersisted = false;
         if (this.container != null) {
@@ -233,6 +255,18 @@ private void loadCellItems() {
         }
     }
 
+    @Override
+    public boolean setChangeListener(@Nullable IStorageChangeListener listener) {
+        this.changeListener = listener;
+        return true;
+    }
+
+    private void notifyChange(AEKey what, long delta) {
+        if (this.changeListener != null) {
+            this.changeListener.onStackChange(what, delta);
+        }
+    }
+
     @Override
     public void getAvailableStacks(KeyCounter out) {
         for (var entry : this.getCellItems().object2LongEntrySet()) {
@@ -384,7 +418,8 @@ private long innerInsert(AEKey what, long amount, Actionable mode) {
 
         if (mode == Actionable.MODULATE) {
             getCellItems().put(what, currentAmount + amount);
-            this.saveChanges();
+            this.saveChanges(what, amount);
+            this.notifyChange(what, amount);
         }
 
         return amount;
@@ -397,14 +432,16 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
             if (amount >= currentAmount) {
                 if (mode == Actionable.MODULATE) {
                     getCellItems().remove(what, currentAmount);
-                    this.saveChanges();
+                    this.saveChanges(what, -currentAmount);
+                    this.notifyChange(what, -currentAmount);
                 }
 
                 return currentAmount;
             } else {
                 if (mode == Actionable.MODULATE) {
                     getCellItems().put(what, currentAmount - amount);
-                    this.saveChanges();
+                    this.saveChanges(what, -amount);
+                    this.notifyChange(what, -amount);
                 }
 
                 return amount;
@@ -21,6 +21,8 @@
 import java.util.HashSet;
 import java.util.Set;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 
@@ -31,8 +33,10 @@
 import appeng.api.storage.cells.CellState;
 import appeng.api.storage.cells.StorageCell;
 import appeng.items.contents.CellConfig;
+import appeng.me.storage.IChangeReportingStorage;
+import appeng.me.storage.IStorageChangeListener;
 
-class CreativeCellInventory implements StorageCell {
+class CreativeCellInventory implements StorageCell, IChangeReportingStorage {
     private final Set<AEKey> configured;
     private final ItemStack stack;
 
@@ -61,6 +65,12 @@ public void getAvailableStacks(KeyCounter out) {
         }
     }
 
+    @Override
+    public boolean setChangeListener(@Nullable IStorageChangeListener listener) {
+        // The available stacks never change
+        return true;
+    }
+
     @Override
     public boolean isPreferredStorageFor(AEKey input, IActionSource source) {
         return this.configured.contains(input);
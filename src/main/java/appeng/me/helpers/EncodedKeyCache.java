@@ -0,0 +1,93 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.helpers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Shares the network encoding of keys between all terminals that show the content of the same grid, so that a key is
+ * only serialized once, no matter how many players are viewing it.
+ * <p/>
+ * Terminals retain a key for as long as their client knows it, and release it once the client has forgotten it. The
+ * encoding of a key is computed when it is first needed and dropped once no terminal retains the key anymore.
+ */
+public final class EncodedKeyCache {
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+
+    private final Map<AEKey, Entry> entries = new HashMap<>();
+
+    public void retain(AEKey key) {
+        entries.computeIfAbsent(key, k -> new Entry()).refCount++;
+    }
+
+    public void release(AEKey key) {
+        var entry = entries.get(key);
+        if (entry != null && --entry.refCount <= 0) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Gets the key as it is written by {@link AEKey#writeKey}. The encoding is only cached for retained keys.
+     */
+    public byte[] getEncoded(AEKey key, RegistryAccess registryAccess) {
+        var entry = entries.get(key);
+        if (entry == null) {
+            return encode(key, registryAccess);
+        }
+        if (entry.encoded == null) {
+            entry.encoded = encode(key, registryAccess);
+        }
+        return entry.encoded;
+    }
+
+    /**
+     * @return The number of retained keys.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static byte[] encode(AEKey key, RegistryAccess registryAccess) {
+        var buffer = PooledByteBufAllocator.DEFAULT.heapBuffer(INITIAL_BUFFER_CAPACITY);
+        try {
+            AEKey.writeKey(new RegistryFriendlyByteBuf(buffer, registryAccess), key);
+            return ByteBufUtil.getBytes(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static final class Entry {
+        private int refCount;
+        @Nullable
+        private byte[] encoded;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Publishes the keys that changed on a grid to any number of subscribers, i.e. the terminals viewing that grid. The
+ * changes are determined once by the grid service and then shared, instead of every subscriber comparing the entire
+ * content of the grid on its own.
+ * <p/>
+ * Published keys are appended to a journal, which every subscription reads from its own position. Keys that have been
+ * read by all subscriptions are discarded. Subscriptions that fall too far behind lose their pending changes and have
+ * to compare their entire state once.
+ */
+public final class KeyChangeFeed {
+    private static final int MAX_PENDING_CHANGES = 1 << 16;
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final ArrayList<AEKey> journal = new ArrayList<>();
+    /**
+     * Position of the first key in the journal, counted since this feed was created.
+     */
+    private long journalStart;
+
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public void publish(AEKey what) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        if (journal.size() >= MAX_PENDING_CHANGES) {
+            // The subscriptions that hold on to the oldest changes have to resynchronize instead
+            var journalEnd = getJournalEnd();
+            for (var subscription : subscriptions) {
+                if (subscription.position == journalStart) {
+                    subscription.position = journalEnd;
+                    subscription.overflowed = true;
+                }
+            }
+            compact();
+        }
+
+        journal.add(what);
+    }
+
+    /**
+     * Subscribes to all keys published from now on.
+     */
+    public Subscription subscribe() {
+        var subscription = new Subscription(getJournalEnd());
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    private long getJournalEnd() {
+        return journalStart + journal.size();
+    }
+
+    /**
+     * Discards the keys that have been read by every subscription.
+     */
+    private void compact() {
+        var readByAll = getJournalEnd();
+        for (var subscription : subscriptions) {
+            readByAll = Math.min(readByAll, subscription.position);
+        }
+
+        var count = (int) (readByAll - journalStart);
+        if (count == journal.size()) {
+            journal.clear();
+        } else if (count > 0) {
+            journal.subList(0, count).clear();
+        }
+        journalStart = readByAll;
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private long position;
+        private boolean overflowed;
+
+        private Subscription(long position) {
+            this.position = position;
+        }
+
+        /**
+         * Passes all keys that were published since the last poll to the given consumer. Keys may be passed more than
+         * once.
+         *
+         * @return False if changes were lost because this subscription hasn't been polled for too long. The
+         *         subscriber has to compare its entire state in that case.
+         */
+        public boolean poll(Consumer<AEKey> consumer) {
+            var journalEnd = getJournalEnd();
+            for (var i = position; i < journalEnd; i++) {
+                consumer.accept(journal.get((int) (i - journalStart)));
+            }
+            position = journalEnd;
+            compact();
+
+            var complete = !overflowed;
+            overflowed = false;
+            return complete;
+        }
+
+        public boolean isSubscribedTo(KeyChangeFeed feed) {
+            return feed == KeyChangeFeed.this;
+        }
+
+        @Override
+        public void close() {
+            if (subscriptions.remove(this)) {
+                compact();
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.pathfinding;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntMaps;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+
+import appeng.api.networking.GridFlags;
+import appeng.api.networking.IGrid;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+
+/**
+ * Updates the channel assignment of a grid after a subtree was added to it or removed from it, without recalculating
+ * the channels of the entire grid like {@link PathingCalculation} does.
+ * <p/>
+ * Only the added subtree is pathed, and the channel counts along its route to the controller are adjusted. If the
+ * change could affect the routes or channels of other nodes, i.e. because the subtree is connected to the grid in more
+ * than one place, or because a node on its route has no channels left, the update fails and the grid has to be
+ * recalculated in full.
+ */
+public class IncrementalPathingCalculation {
+    private final IGrid grid;
+    /**
+     * Change of the channel count of every path item that was affected by the update.
+     */
+    private final Reference2IntOpenHashMap<IPathItem> channelDeltas = new Reference2IntOpenHashMap<>();
+    private int channelsInUseDelta = 0;
+    private int channelsByBlocksDelta = 0;
+    private boolean starvedNodes = false;
+
+    public IncrementalPathingCalculation(IGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Paths nodes that were added to the grid.
+     *
+     * @param addedNodes       The nodes that were added to the grid since it was last pathed.
+     * @param addedConnections The connections that were created since the grid was last pathed.
+     * @return False if the nodes can't be pathed incrementally.
+     */
+    public boolean addNodes(Set<GridNode> addedNodes, Set<GridConnection> addedConnections) {
+        // A new connection between two existing nodes might be a shorter route for some of them
+        for (var connection : addedConnections) {
+            if (!addedNodes.contains(connection.a()) && !addedNodes.contains(connection.b())) {
+                return false;
+            }
+        }
+
+        // The added nodes must hang off the existing tree at exactly one connection
+        GridConnection attachment = null;
+        for (var node : addedNodes) {
+            if (!isSimpleNode(node) || node.getGrid() != grid) {
+                return false;
+            }
+
+            for (var gc : node.getConnections()) {
+                var connection = (GridConnection) gc;
+                if (!addedNodes.contains((GridNode) connection.getOtherSide(node))) {
+                    if (attachment != null) {
+                        return false;
+                    }
+                    attachment = connection;
+                }
+            }
+        }
+        if (attachment == null) {
+            return false;
+        }
+
+        // Path the added subtree with the same BFS as the full calculation, but seeded with the attachment
+        var parent = addedNodes.contains(attachment.a()) ? attachment.b() : attachment.a();
+        Set<IPathItem> visited = new HashSet<>();
+        visited.add(parent);
+        visited.add(attachment);
+        attachment.setControllerRoute(parent);
+
+        @SuppressWarnings("unchecked")
+        Queue<IPathItem>[] queues = new Queue[] { new ArrayDeque<>(), new ArrayDeque<>(), new ArrayDeque<>() };
+        queues[PathingCalculation.getQueueIndex(attachment, 0)].add(attachment);
+
+        for (int queueIndex = 0; queueIndex < queues.length; ++queueIndex) {
+            var queue = queues[queueIndex];
+            while (!queue.isEmpty()) {
+                var item = queue.poll();
+                for (var pi : item.getPossibleOptions()) {
+                    if (visited.add(pi)) {
+                        pi.setControllerRoute(item);
+
+                        if (pi.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
+                            var node = (GridNode) pi;
+                            var bottleneck = findBottleneck(node, addedNodes);
+                            if (bottleneck == null) {
+                                if (!addChannels(node, 1)) {
+                                    return false;
+                                }
+                                channelsInUseDelta++;
+                            } else if (addedNodes.contains(bottleneck)) {
+                                starvedNodes = true;
+                            } else {
+                                // The bottleneck is outside the subtree, other nodes might have to be re-routed
+                                return false;
+                            }
+                        }
+
+                        queues[PathingCalculation.getQueueIndex(pi, queueIndex)].add(pi);
+                    }
+                }
+            }
+        }
+
+        if (!visited.containsAll(addedNodes)) {
+            return false;
+        }
+
+        // Every item of the subtree is reset by setControllerRoute, but only those along the route of a channel
+        // have been recorded so far.
+        for (var item : visited) {
+            if (item != parent) {
+                channelDeltas.putIfAbsent(item, 0);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes the channels of nodes that were destroyed.
+     *
+     * @param removedNodes       The nodes that were removed from the grid since it was last pathed.
+     * @param removedConnections The connections that were destroyed since the grid was last pathed.
+     * @param starvedNodes       Whether the grid has nodes that didn't get a channel. Freeing up channels would have
+     *                           to give those nodes a channel.
+     * @return False if the channels of the nodes can't be removed incrementally.
+     */
+    public boolean removeNodes(Set<GridNode> removedNodes, Set<GridConnection> removedConnections,
+            boolean starvedNodes) {
+        if (starvedNodes) {
+            return false;
+        }
+
+        for (var node : removedNodes) {
+            // Nodes that were moved to another grid instead of being destroyed mean that the grid was split
+            if (!isSimpleNode(node) || node.isReady()) {
+                return false;
+            }
+        }
+
+        // Channels of removed nodes that were passed on to their parent
+        var passedChannels = new Reference2IntOpenHashMap<GridNode>();
+        for (var connection : removedConnections) {
+            // Side A is not necessarily closer to the controller, i.e. for connections that were never pathed
+            var child = connection.getRoutedSide();
+            if (child == null) {
+                return false;
+            }
+            var parent = (GridNode) connection.getOtherSide(child);
+            boolean parentRemoved = removedNodes.contains(parent);
+            boolean childRemoved = removedNodes.contains(child);
+
+            if (!childRemoved) {
+                // The remaining child lost its route to the controller, or a link between remaining nodes was cut
+                return false;
+            }
+
+            channelsByBlocksDelta -= connection.getUsedChannels();
+            if (parentRemoved) {
+                passedChannels.addTo(parent, connection.getUsedChannels());
+            } else if (connection.getUsedChannels() > 0) {
+                if (parent.getGrid() != grid || !addChannels(parent, -connection.getUsedChannels())) {
+                    return false;
+                }
+            }
+        }
+
+        for (var node : removedNodes) {
+            channelsByBlocksDelta -= node.getUsedChannels();
+            if (node.hasFlag(GridFlags.REQUIRE_CHANNEL)
+                    && node.getUsedChannels() > passedChannels.getInt(node)) {
+                channelsInUseDelta--;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Nodes that take part in more complex channel assignments (multiblocks, compressed channels and controllers)
+     * always require a full recalculation.
+     */
+    private static boolean isSimpleNode(GridNode node) {
+        return !node.hasFlag(GridFlags.MULTIBLOCK)
+                && !node.hasFlag(GridFlags.COMPRESSED_CHANNEL)
+                && !node.hasFlag(GridFlags.CANNOT_CARRY_COMPRESSED)
+                && !(node.getOwner() instanceof ControllerBlockEntity);
+    }
+
+    private int getChannels(GridNode node, Set<GridNode> addedNodes) {
+        // Nodes of the added subtree were reset when their route was set
+        int channels = addedNodes.contains(node) ? 0 : node.getUsedChannels();
+        return channels + channelDeltas.getInt(node);
+    }
+
+    /**
+     * Finds the first node on the route from {@code start} to the controller that can't carry another channel.
+     *
+     * @return Null if a channel can be allocated along the entire route.
+     */
+    @Nullable
+    private GridNode findBottleneck(GridNode start, Set<GridNode> addedNodes) {
+        for (IPathItem pi = start; pi != null; pi = getParent(pi)) {
+            if (pi instanceof GridNode node && getChannels(node, addedNodes) >= node.getMaxChannels()) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds channels to every path item on the route from {@code start} to the controller.
+     *
+     * @return False if the route doesn't lead to a controller.
+     */
+    private boolean addChannels(IPathItem start, int channels) {
+        // Guard against inconsistent routes, which would otherwise loop forever
+        int remainingSteps = 2 * grid.size() + 1;
+        for (IPathItem pi = start; pi != null; pi = getParent(pi)) {
+            if (remainingSteps-- <= 0) {
+                return false;
+            }
+            channelDeltas.addTo(pi, channels);
+            channelsByBlocksDelta += channels;
+        }
+        return true;
+    }
+
+    /**
+     * @return The next path item towards the controller, or null if the controller was reached.
+     */
+    private static IPathItem getParent(IPathItem item) {
+        var parent = item.getControllerRoute();
+        if (parent instanceof GridNode node && node.getOwner() instanceof ControllerBlockEntity) {
+            return null;
+        }
+        return parent;
+    }
+
+    /**
+     * Applies the changed channel counts and notifies the affected nodes.
+     */
+    public void finalizeChannels() {
+        for (var entry : Reference2IntMaps.fastIterable(channelDeltas)) {
+            var item = entry.getKey();
+            if (item instanceof GridNode node) {
+                node.incrementChannelCount(entry.getIntValue());
+            } else {
+                ((GridConnection) item).incrementChannelCount(entry.getIntValue());
+            }
+            item.finalizeChannels();
+        }
+    }
+
+    public int getChannelsInUseDelta() {
+        return channelsInUseDelta;
+    }
+
+    public int getChannelsByBlocksDelta() {
+        return channelsByBlocksDelta;
+    }
+
+    /**
+     * @return True if some of the added nodes couldn't get a channel.
+     */
+    public boolean hasStarvedNodes() {
+        return starvedNodes;
+    }
+}
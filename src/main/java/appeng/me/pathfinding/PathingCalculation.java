@@ -103,7 +103,13 @@ public PathingCalculation(IGrid grid) {
 
     private void enqueue(IPathItem pathItem, int queueIndex) {
         visited.add(pathItem);
+        queues[getQueueIndex(pathItem, queueIndex)].add(pathItem);
+    }
 
+    /**
+     * Determines the BFS queue for a path item that was reached from an item in the given queue.
+     */
+    static int getQueueIndex(IPathItem pathItem, int queueIndex) {
         int possibleIndex;
 
         if (pathItem instanceof GridConnection) {
@@ -119,8 +125,7 @@ private void enqueue(IPathItem pathItem, int queueIndex) {
             possibleIndex = 2;
         }
 
-        int index = Math.max(possibleIndex, queueIndex);
-        queues[index].add(pathItem);
+        return Math.max(possibleIndex, queueIndex);
     }
 
     public void compute() {
@@ -19,11 +19,16 @@
 package appeng.me.service;
 
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
@@ -32,6 +37,7 @@
 import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.Nullable;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.level.Level;
 
@@ -50,18 +56,23 @@
 import appeng.api.stacks.GenericStack;
 import appeng.api.storage.AEKeyFilter;
 import appeng.blockentity.crafting.CraftingBlockEntity;
+import appeng.core.AEConfig;
 import appeng.crafting.CraftingCalculation;
 import appeng.crafting.CraftingLink;
 import appeng.crafting.CraftingLinkNexus;
+import appeng.crafting.ICraftingPatternLookup;
 import appeng.crafting.execution.CraftingSubmitResult;
 import appeng.hooks.ticking.TickHandler;
 import appeng.me.cluster.implementations.CraftingCPUCluster;
 import appeng.me.helpers.InterestManager;
+import appeng.me.helpers.KeyChangeFeed;
 import appeng.me.helpers.StackWatcher;
+import appeng.me.service.helpers.CraftingPatternSnapshot;
 import appeng.me.service.helpers.CraftingServiceStorage;
 import appeng.me.service.helpers.NetworkCraftingProviders;
 
-public class CraftingService implements ICraftingService, IGridServiceProvider {
+public class CraftingService
+        implements ICraftingService, IGridServiceProvider, ICraftingPatternLookup.SnapshotSource {
 
     /**
      * Sorts Crafting CPUs by Co-Processors in descending order ("fast first"), and storage in ascending order (to
@@ -79,16 +90,28 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
             .comparingInt(CraftingCPUCluster::getCoProcessors)
             .thenComparingLong(CraftingCPUCluster::getAvailableStorage);
 
-    private static final ExecutorService CRAFTING_POOL;
+    /**
+     * Runs crafting calculations. The number of threads is bounded by the config, further calculations are queued.
+     */
+    private static final ThreadPoolExecutor CRAFTING_POOL;
+    /**
+     * Calculations that were submitted to the pool and haven't completed yet.
+     */
+    private static final Set<Future<ICraftingPlan>> CALCULATIONS = ConcurrentHashMap.newKeySet();
 
     static {
+        var threadId = new AtomicInteger();
         final ThreadFactory factory = ar -> {
-            final Thread crafting = new Thread(ar, "AE Crafting Calculator");
+            final Thread crafting = new Thread(ar, "AE Crafting Calculator #" + threadId.incrementAndGet());
             crafting.setDaemon(true);
             return crafting;
         };
 
-        CRAFTING_POOL = Executors.newCachedThreadPool(factory);
+        // Sized according to the config once the first calculation is submitted
+        CRAFTING_POOL = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        CRAFTING_POOL.allowCoreThreadTimeOut(true);
+        // The pool outlives the server, so don't let calculations of a stopped server occupy it
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> cancelCalculations());
 
         GridHelper.addGridServiceEventHandler(GridCraftingCpuChange.class, ICraftingService.class,
                 (service, event) -> {
@@ -110,6 +133,10 @@ public class CraftingService implements ICraftingService, IGridServiceProvider {
     private long lastProcessedCraftingLogicChangeTick;
     private long lastProcessedCraftableChangeTick;
     private boolean updateList = false;
+    /**
+     * Publishes the keys that became craftable or are no longer craftable to the terminals viewing this grid.
+     */
+    private final KeyChangeFeed craftableChanges = new KeyChangeFeed();
 
     public CraftingService(IGrid grid, IStorageService storageGrid, IEnergyService energyGrid) {
         this.grid = grid;
@@ -179,12 +206,13 @@ public void onServerEndTick() {
                 currentlyCraftable.addAll(craftingProviders.getCraftableKeys());
                 currentlyCraftable.addAll(craftingProviders.getEmittableKeys());
 
-                // Only perform the change tracking if there are watchers
-                if (!interests.isEmpty()) {
+                // Only perform the change tracking if there are watchers or subscribers
+                if (!interests.isEmpty() || craftableChanges.hasSubscribers()) {
                     var changedCraftable = new HashSet<AEKey>();
                     changedCraftable.addAll(Sets.difference(previouslyCraftable, currentlyCraftable));
                     changedCraftable.addAll(Sets.difference(currentlyCraftable, previouslyCraftable));
                     for (var what : changedCraftable) {
+                        craftableChanges.publish(what);
                         for (var watcher : interestManager.get(what)) {
                             watcher.getHost().onCraftableChange(what);
                         }
@@ -255,6 +283,14 @@ public Set<AEKey> getCraftables(AEKeyFilter filter) {
         return craftingProviders.getCraftables(filter);
     }
 
+    /**
+     * The keys that became craftable or are no longer craftable, published at the end of the tick in which the
+     * patterns of the grid changed.
+     */
+    public KeyChangeFeed getCraftableChanges() {
+        return craftableChanges;
+    }
+
     private void updateCPUClusters() {
         this.craftingCPUClusters.clear();
 
@@ -319,8 +355,60 @@ public Future<ICraftingPlan> beginCraftingCalculation(Level level, ICraftingSimu
 
         final CraftingCalculation job = new CraftingCalculation(level, grid, simRequester,
                 new GenericStack(what, amount), strategy);
+        job.setTimeBudgetPerTick(AEConfig.instance().getCraftingCalculationTimePerTick(), TimeUnit.MILLISECONDS);
+
+        updatePoolSize();
+        return submitCalculation(job);
+    }
+
+    @VisibleForTesting
+    static Future<ICraftingPlan> submitCalculation(CraftingCalculation job) {
+        var task = new FutureTask<ICraftingPlan>(job::run) {
+            @Override
+            protected void done() {
+                CALCULATIONS.remove(this);
+            }
+        };
+        CALCULATIONS.add(task);
+        CRAFTING_POOL.execute(task);
+        return task;
+    }
 
-        return CRAFTING_POOL.submit(job::run);
+    /**
+     * Cancels all queued and running calculations. Calculations can't complete once their server stopped.
+     */
+    @VisibleForTesting
+    static void cancelCalculations() {
+        for (var calculation : CALCULATIONS) {
+            calculation.cancel(true);
+        }
+        CALCULATIONS.clear();
+        CRAFTING_POOL.getQueue().clear();
+        CraftingCalculation.onServerStopping();
+    }
+
+    /**
+     * Applies changes to the configured number of calculation threads.
+     */
+    private static void updatePoolSize() {
+        var threads = AEConfig.instance().getCraftingCalculationThreads();
+        if (CRAFTING_POOL.getMaximumPoolSize() != threads) {
+            if (threads > CRAFTING_POOL.getMaximumPoolSize()) {
+                CRAFTING_POOL.setMaximumPoolSize(threads);
+                CRAFTING_POOL.setCorePoolSize(threads);
+            } else {
+                CRAFTING_POOL.setCorePoolSize(threads);
+                CRAFTING_POOL.setMaximumPoolSize(threads);
+            }
+        }
+    }
+
+    /**
+     * @return An immutable snapshot of the patterns in this network, to be used by crafting calculations.
+     */
+    @Override
+    public CraftingPatternSnapshot getPatternSnapshot() {
+        return this.craftingProviders.getSnapshot();
     }
 
     @Override
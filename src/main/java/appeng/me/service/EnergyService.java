@@ -48,6 +48,7 @@
 import appeng.me.energy.EnergyWatcher;
 import appeng.me.energy.GridEnergyStorage;
 import appeng.me.energy.IEnergyOverlayGridConnection;
+import appeng.me.service.helpers.EnergyLedger;
 
 public class EnergyService implements IEnergyService, IGridServiceProvider {
     private static final String TAG_STORED_ENERGY = "e";
@@ -83,6 +84,11 @@ public class EnergyService implements IEnergyService, IGridServiceProvider {
     // when something externally
     // modifies the energy grid.
     private boolean ongoingExtractOperation = false;
+    /**
+     * Remembers the energy available from the providers, so extractions don't have to walk the providers that are
+     * already empty. It is reopened at the end of the tick, and whenever the providers change.
+     */
+    private final EnergyLedger ledger = new EnergyLedger();
 
     // Should only be modified from the add/remove methods below to guard against
     // concurrent modifications
@@ -248,6 +254,8 @@ public void onServerEndTick() {
         }
 
         this.availableTicksSinceUpdate++;
+
+        closeLedger();
     }
 
     @Override
@@ -293,6 +301,7 @@ private void publicPowerState(boolean newState, IGrid grid) {
      */
     @VisibleForTesting
     public void refreshPower() {
+        closeLedger();
         this.availableTicksSinceUpdate = 0;
         this.globalAvailablePower = 0;
         for (IAEPowerStorage p : this.providers) {
@@ -307,30 +316,27 @@ public Collection<IEnergyOverlayGridConnection> getOverlayGridConnections() {
     public double extractProviderPower(double amt, Actionable mode) {
         Preconditions.checkArgument(amt >= 0, "amt must be >= 0");
 
-        double extractedPower = 0;
-
-        final Iterator<IAEPowerStorage> it = this.providers.iterator();
-
-        ongoingExtractOperation = true;
-        try {
-            while (extractedPower < amt && it.hasNext()) {
-                final IAEPowerStorage node = it.next();
-
-                final double req = amt - extractedPower;
-                final double newPower = node.extractAEPower(req, mode, PowerMultiplier.ONE);
-                extractedPower += newPower;
-
-                if (newPower < req && mode == Actionable.MODULATE) {
-                    it.remove();
-                }
+        if (!this.ledger.isOpen()) {
+            ongoingExtractOperation = true;
+            try {
+                this.ledger.open(this.providers);
+            } finally {
+                ongoingExtractOperation = false;
             }
-        } finally {
-            ongoingExtractOperation = false;
         }
 
-        final double result = Math.min(extractedPower, amt);
-
         if (mode == Actionable.MODULATE) {
+            double extractedPower;
+            ongoingExtractOperation = true;
+            try {
+                // Empty providers are added back once they receive energy
+                extractedPower = this.ledger.withdraw(amt, this.providers::remove);
+            } finally {
+                ongoingExtractOperation = false;
+            }
+
+            final double result = Math.min(extractedPower, amt);
+
             // Be nice and try to push returned excess to the grid storage
             if (extractedPower > amt) {
                 this.localStorage.injectAEPower(extractedPower - amt, Actionable.MODULATE);
@@ -338,14 +344,27 @@ public double extractProviderPower(double amt, Actionable mode) {
 
             this.globalAvailablePower -= result;
             this.tickDrainPerTick += result;
+            return result;
+        } else {
+            return Math.min(amt, this.ledger.getRemaining());
         }
+    }
 
-        return result;
+    /**
+     * Closes the ledger, so that it picks up the current energy of the providers the next time energy is extracted.
+     */
+    private void closeLedger() {
+        this.ledger.close();
     }
 
     public double injectProviderPower(double amt, Actionable mode) {
         Preconditions.checkArgument(amt >= 0, "amt must be >= 0");
 
+        if (mode == Actionable.MODULATE) {
+            // The ledger doesn't know about the energy charged into the providers
+            closeLedger();
+        }
+
         final double originalAmount = amt;
 
         var it = this.requesters.iterator();
@@ -450,6 +469,7 @@ public double getEnergyDemand(double maxRequired) {
 
     @Override
     public void removeNode(IGridNode node) {
+        closeLedger();
         localStorage.removeNode();
 
         var gridProvider = node.getService(IEnergyOverlayGridConnection.class);
@@ -510,6 +530,7 @@ private void removeRequester(IAEPowerStorage requester) {
     private void addProvider(IAEPowerStorage provider) {
         Preconditions.checkState(!ongoingExtractOperation,
                 "Cannot modify energy providers while energy is being extracted.");
+        closeLedger();
         if (provider.getPowerFlow().isAllowExtraction()) {
             this.providers.add(provider);
         }
@@ -518,11 +539,13 @@ private void addProvider(IAEPowerStorage provider) {
     private void removeProvider(IAEPowerStorage provider) {
         Preconditions.checkState(!ongoingExtractOperation,
                 "Cannot modify energy providers while energy is being extracted.");
+        closeLedger();
         this.providers.remove(provider);
     }
 
     @Override
     public void addNode(IGridNode node, @Nullable CompoundTag storedData) {
+        closeLedger();
         localStorage.addNode();
 
         var gridProvider = node.getService(IEnergyOverlayGridConnection.class);
@@ -575,6 +598,7 @@ public void addNode(IGridNode node, @Nullable CompoundTag storedData) {
 
     @Override
     public void saveNodeData(IGridNode gridNode, CompoundTag savedData) {
+        closeLedger();
         // When node-data is saved, we allocate it 1/N of our stored local energy
         var perNodeStorage = localStorage.getNodeEnergyShare();
         if (perNodeStorage > 0) {
@@ -19,6 +19,7 @@
 package appeng.me.service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Random;
 import java.util.stream.Stream;
 
@@ -57,6 +58,11 @@ public static P2PService get(IGrid grid) {
     private final IGrid myGrid;
     private final HashMap<Short, P2PTunnelPart<?>> inputs = new HashMap<>();
     private final Multimap<Short, P2PTunnelPart<?>> outputs = LinkedHashMultimap.create();
+    /**
+     * The outputs an input of a frequency sends to. Inputs do so far more often than tunnels are added or removed, so
+     * this is only rebuilt when the tunnels of the frequency change.
+     */
+    private final HashMap<Short, OutputRoute> outputRoutes = new HashMap<>();
     private final Random frequencyGenerator;
 
     public P2PService(IGrid g) {
@@ -110,6 +116,8 @@ public void addNode(IGridNode node, @Nullable CompoundTag savedData) {
     }
 
     private void updateTunnel(short freq, boolean updateOutputs, boolean configChange) {
+        this.outputRoutes.remove(freq);
+
         if (updateOutputs) {
             for (P2PTunnelPart p : this.outputs.get(freq)) {
                 if (configChange) {
@@ -184,7 +192,24 @@ public <T extends P2PTunnelPart<T>> Stream<T> getOutputs(short freq, Class<T> c)
                 .map(c::cast);
     }
 
+    /**
+     * Same as {@link #getOutputs(short, Class)}, but returns a list that is cached until the tunnels of the frequency
+     * change.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends P2PTunnelPart<T>> List<T> getOutputList(short freq, Class<T> c) {
+        var route = this.outputRoutes.get(freq);
+        if (route == null || route.type() != c) {
+            route = new OutputRoute(c, getOutputs(freq, c).toList());
+            this.outputRoutes.put(freq, route);
+        }
+        return (List<T>) route.outputs();
+    }
+
     public P2PTunnelPart getInput(short freq) {
         return this.inputs.get(freq);
     }
+
+    private record OutputRoute(Class<?> type, List<? extends P2PTunnelPart<?>> outputs) {
+    }
 }
@@ -40,9 +40,12 @@
 import appeng.core.AELog;
 import appeng.core.stats.AdvancementTriggers;
 import appeng.me.Grid;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
 import appeng.me.pathfinding.AdHocChannelUpdater;
 import appeng.me.pathfinding.ChannelFinalizer;
 import appeng.me.pathfinding.ControllerValidator;
+import appeng.me.pathfinding.IncrementalPathingCalculation;
 import appeng.me.pathfinding.PathingCalculation;
 
 public class PathingService implements IPathingService, IGridServiceProvider {
@@ -66,6 +69,23 @@ public class PathingService implements IPathingService, IGridServiceProvider {
     private boolean recalculateControllerNextTick = true;
     // Flag to indicate a reboot should occur next tick
     private boolean reboot = true;
+    /**
+     * Nodes and connections that were added or removed since the channels were last assigned. If the grid doesn't need
+     * a reboot, these changes are applied incrementally.
+     */
+    private final Set<GridNode> addedNodes = new HashSet<>();
+    private final Set<GridNode> removedNodes = new HashSet<>();
+    private final Set<GridConnection> addedConnections = new HashSet<>();
+    private final Set<GridConnection> removedConnections = new HashSet<>();
+    /**
+     * True if the current channel assignment was calculated from the controllers, which is required to update it
+     * incrementally.
+     */
+    private boolean channelsFromController = false;
+    /**
+     * True if some nodes requiring a channel didn't get one.
+     */
+    private boolean starvedNodes = false;
     private boolean booting = false;
     @Nullable
     private AdHocNetworkError adHocNetworkError;
@@ -82,12 +102,21 @@ public PathingService(IGrid g) {
         this.grid = (Grid) g;
     }
 
+    public static PathingService get(IGrid grid) {
+        return (PathingService) grid.getPathingService();
+    }
+
     @Override
     public void onServerEndTick() {
         if (this.recalculateControllerNextTick) {
             this.updateControllerState();
         }
 
+        if (!this.reboot && hasPendingChanges() && !this.updateChannelsIncrementally()) {
+            this.reboot = true;
+        }
+        this.clearPendingChanges();
+
         if (this.reboot) {
             this.reboot = false;
 
@@ -104,6 +133,8 @@ public void onServerEndTick() {
                 return;
             }
 
+            this.channelsFromController = false;
+
             if (this.controllerState == ControllerState.NO_CONTROLLER) {
                 // Returns 0 if there's an error
                 this.channelsInUse = this.calculateAdHocChannels();
@@ -122,6 +153,7 @@ public void onServerEndTick() {
                 calculation.compute();
                 this.channelsInUse = calculation.getChannelsInUse();
                 this.channelsByBlocks = calculation.getChannelsByBlocks();
+                this.channelsFromController = true;
             }
 
             // check for achievements
@@ -133,7 +165,63 @@ public void onServerEndTick() {
             // properly return true.
             this.grid.getPivot().beginVisit(new ChannelFinalizer());
             this.postBootingStatusChange();
+
+            this.starvedNodes = false;
+            for (var node : this.nodesNeedingChannels) {
+                if (!node.meetsChannelRequirements()) {
+                    this.starvedNodes = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean hasPendingChanges() {
+        return !this.addedNodes.isEmpty() || !this.removedNodes.isEmpty()
+                || !this.addedConnections.isEmpty() || !this.removedConnections.isEmpty();
+    }
+
+    private void clearPendingChanges() {
+        this.addedNodes.clear();
+        this.removedNodes.clear();
+        this.addedConnections.clear();
+        this.removedConnections.clear();
+    }
+
+    /**
+     * Tries to update the channel assignment for a subtree that was added or removed, without rebooting the grid.
+     *
+     * @return False if the grid needs to be rebooted instead.
+     */
+    private boolean updateChannelsIncrementally() {
+        if (!this.channelsFromController || this.controllerState != ControllerState.CONTROLLER_ONLINE) {
+            return false;
+        }
+        if (!this.channelModeLocked && this.channelMode != AEConfig.instance().getChannelMode()) {
+            return false;
+        }
+
+        var calculation = new IncrementalPathingCalculation(grid);
+        boolean success;
+        if (this.removedNodes.isEmpty() && this.removedConnections.isEmpty()) {
+            success = calculation.addNodes(this.addedNodes, this.addedConnections);
+        } else if (this.addedNodes.isEmpty() && this.addedConnections.isEmpty()) {
+            success = calculation.removeNodes(this.removedNodes, this.removedConnections, this.starvedNodes);
+        } else {
+            success = false;
         }
+
+        if (!success) {
+            return false;
+        }
+
+        this.channelsInUse += calculation.getChannelsInUseDelta();
+        this.channelsByBlocks += calculation.getChannelsByBlocksDelta();
+        this.starvedNodes |= calculation.hasStarvedNodes();
+        this.achievementPost();
+        this.setChannelPowerUsage(this.channelsByBlocks / 128.0);
+        calculation.finalizeChannels();
+        return true;
     }
 
     private void postBootingStatusChange() {
@@ -146,6 +234,7 @@ public void removeNode(IGridNode gridNode) {
         if (gridNode.getOwner() instanceof ControllerBlockEntity controller) {
             this.controllers.remove(controller);
             this.recalculateControllerNextTick = true;
+            this.repath();
         }
 
         if (gridNode.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
@@ -156,18 +245,23 @@ public void removeNode(IGridNode gridNode) {
             this.cannotCarryCompressedNodes.remove(gridNode);
         }
 
-        this.repath();
+        this.removedNodes.add((GridNode) gridNode);
     }
 
     @Override
     public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
         if (savedData != null) {
+            var previousChannelMode = this.channelMode;
             restoreChannelMode(savedData);
+            if (previousChannelMode != this.channelMode) {
+                this.repath();
+            }
         }
 
         if (gridNode.getOwner() instanceof ControllerBlockEntity controller) {
             this.controllers.add(controller);
             this.recalculateControllerNextTick = true;
+            this.repath();
         }
 
         if (gridNode.hasFlag(GridFlags.REQUIRE_CHANNEL)) {
@@ -178,7 +272,21 @@ public void addNode(IGridNode gridNode, @Nullable CompoundTag savedData) {
             this.cannotCarryCompressedNodes.add(gridNode);
         }
 
-        this.repath();
+        this.addedNodes.add((GridNode) gridNode);
+    }
+
+    /**
+     * A connection between two nodes of this grid was created. The channels are updated at the end of the tick.
+     */
+    public void addConnection(GridConnection connection) {
+        this.addedConnections.add(connection);
+    }
+
+    /**
+     * A connection of a node in this grid was destroyed. The channels are updated at the end of the tick.
+     */
+    public void removeConnection(GridConnection connection) {
+        this.removedConnections.add(connection);
     }
 
     private void restoreChannelMode(CompoundTag savedData) {
@@ -48,7 +48,9 @@
 import appeng.api.storage.IStorageMounts;
 import appeng.api.storage.IStorageProvider;
 import appeng.api.storage.MEStorage;
+import appeng.me.helpers.EncodedKeyCache;
 import appeng.me.helpers.InterestManager;
+import appeng.me.helpers.KeyChangeFeed;
 import appeng.me.helpers.StackWatcher;
 import appeng.me.storage.NetworkStorage;
 import appeng.util.JsonStreamUtil;
@@ -69,15 +71,20 @@ public class StorageService implements IStorageService, IGridServiceProvider {
             this.interests);
     private final NetworkStorage storage;
     /**
-     * Publicly exposed cached available stacks.
+     * Publicly exposed cached available stacks. Maintained incrementally from the changes reported by
+     * {@link NetworkStorage#pollAvailableStackChanges}.
      */
-    private KeyCounter cachedAvailableStacks = new KeyCounter();
-    private KeyCounter cachedAvailableStacksBackBuffer = new KeyCounter();
+    private final KeyCounter cachedAvailableStacks = new KeyCounter();
     /**
      * Private cached amounts, to ensure that we send correct change notifications even if
      * {@link #cachedAvailableStacks} is modified by mistake.
      */
     private final Object2LongMap<AEKey> cachedAvailableAmounts = new Object2LongOpenHashMap<>();
+    /**
+     * Keys whose amount changed during the current cache update. Watchers are notified after the whole cache has been
+     * updated.
+     */
+    private final List<AEKey> changedKeys = new ArrayList<>();
     private boolean cachedStacksNeedUpdate = true;
     /**
      * Tracks the stack watcher associated with a given grid node. Needed to clean up watchers when the node leaves the
@@ -86,6 +93,14 @@ public class StorageService implements IStorageService, IGridServiceProvider {
     private final Map<IGridNode, StackWatcher<IStorageWatcherNode>> watchers = new IdentityHashMap<>();
 
     private final StatsAccumulator inventoryRefreshStats = new StatsAccumulator();
+    /**
+     * Encoded keys shared by all terminals viewing this grid.
+     */
+    private final EncodedKeyCache keyEncodings = new EncodedKeyCache();
+    /**
+     * Publishes the keys whose cached amount changed to the terminals viewing this grid.
+     */
+    private final KeyChangeFeed inventoryChanges = new KeyChangeFeed();
 
     public StorageService() {
         this.storage = new NetworkStorage();
@@ -93,11 +108,11 @@ public StorageService() {
 
     @Override
     public void onServerEndTick() {
-        if (interestManager.isEmpty()) {
+        if (interestManager.isEmpty() && !inventoryChanges.hasSubscribers()) {
             // lazily rebuild cache list
             cachedStacksNeedUpdate = true;
         } else {
-            // we need to rebuild the cache every tick to notify listeners
+            // we need to rebuild the cache every tick to notify listeners and subscribers
             updateCachedStacks();
         }
     }
@@ -108,42 +123,35 @@ private void updateCachedStacks() {
         try {
             cachedStacksNeedUpdate = false;
 
-            // Update cache
-            var previousStacks = cachedAvailableStacks;
-            var currentStacks = cachedAvailableStacksBackBuffer;
-            cachedAvailableStacks = currentStacks;
-            cachedAvailableStacksBackBuffer = previousStacks;
-
-            currentStacks.clear();
-            storage.getAvailableStacks(currentStacks);
-
-            // Post watcher update for currently available stacks
-            for (var entry : currentStacks) {
-                var what = entry.getKey();
-                var newAmount = entry.getLongValue();
-                if (newAmount != cachedAvailableAmounts.getLong(what)) {
-                    postWatcherUpdate(what, newAmount);
-                }
-            }
-            // Post watcher update for removed stacks
-            for (var entry : cachedAvailableAmounts.object2LongEntrySet()) {
-                var what = entry.getKey();
-                var newAmount = currentStacks.get(what);
-                if (newAmount == 0) {
-                    postWatcherUpdate(what, newAmount);
-                }
-            }
+            // Apply the changes of all mounted inventories since the last update
+            storage.pollAvailableStackChanges(this::applyAvailableStackChange);
 
-            // Update private amounts
-            cachedAvailableAmounts.clear();
-            for (var entry : currentStacks) {
-                cachedAvailableAmounts.put(entry.getKey(), entry.getLongValue());
+            // Post watcher update for changed stacks
+            try {
+                for (var what : changedKeys) {
+                    postWatcherUpdate(what, cachedAvailableAmounts.getLong(what));
+                }
+            } finally {
+                changedKeys.clear();
             }
         } finally {
             inventoryRefreshStats.add(System.nanoTime() - time);
         }
     }
 
+    private void applyAvailableStackChange(AEKey what, long delta) {
+        var newAmount = cachedAvailableAmounts.getLong(what) + delta;
+        if (newAmount == 0) {
+            cachedAvailableAmounts.removeLong(what);
+            cachedAvailableStacks.remove(what);
+        } else {
+            cachedAvailableAmounts.put(what, newAmount);
+            cachedAvailableStacks.set(what, newAmount);
+        }
+        changedKeys.add(what);
+        inventoryChanges.publish(what);
+    }
+
     private void postWatcherUpdate(AEKey what, long newAmount) {
         for (var watcher : interestManager.get(what)) {
             watcher.getHost().onStackChange(what, newAmount);
@@ -196,6 +204,18 @@ public MEStorage getInventory() {
         return storage;
     }
 
+    public EncodedKeyCache getKeyEncodings() {
+        return keyEncodings;
+    }
+
+    /**
+     * The keys whose amount in {@link #getCachedInventory()} changed. While there are subscribers, the cache is updated
+     * at the end of every tick.
+     */
+    public KeyChangeFeed getInventoryChanges() {
+        return inventoryChanges;
+    }
+
     @Override
     public KeyCounter getCachedInventory() {
         if (cachedStacksNeedUpdate) {
@@ -246,6 +266,7 @@ public void refreshGlobalStorageProvider(IStorageProvider provider) {
 
     @Override
     public void invalidateCache() {
+        storage.resyncAvailableStacks();
         cachedStacksNeedUpdate = true;
     }
 
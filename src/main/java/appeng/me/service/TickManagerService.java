@@ -22,7 +22,6 @@
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.Iterators;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -37,6 +36,7 @@
 import appeng.api.networking.ticking.ITickManager;
 import appeng.api.networking.ticking.TickRateModulation;
 import appeng.me.GridNode;
+import appeng.me.service.helpers.TickScheduler;
 import appeng.me.service.helpers.TickTracker;
 
 public class TickManagerService implements ITickManager, IGridServiceProvider {
@@ -49,9 +49,9 @@ public class TickManagerService implements ITickManager, IGridServiceProvider {
     private final Map<IGridNode, TickTracker> alertable = new IdentityHashMap<>();
     private final Map<IGridNode, TickTracker> sleeping = new IdentityHashMap<>();
     private final Map<IGridNode, TickTracker> awake = new IdentityHashMap<>();
-    private final Map<Level, PriorityQueue<TickTracker>> upcomingTicks = new IdentityHashMap<>();
+    private final Map<Level, TickScheduler> upcomingTicks = new IdentityHashMap<>();
 
-    private PriorityQueue<TickTracker> currentlyTickingQueue = null;
+    private TickScheduler currentlyTickingQueue = null;
 
     private long currentTick = 0;
     private final Stopwatch stopWatch = Stopwatch.createUnstarted();
@@ -94,19 +94,12 @@ private void tickLevelQueue(@Nullable Level level) {
         }
     }
 
-    private void tickQueue(PriorityQueue<TickTracker> queue) {
-        TickTracker tt;
-
-        while (!queue.isEmpty()) {
-            // Peek and stop once it reaches a TickTracker running at a later tick
-            tt = queue.peek();
-            if (tt.getNextTick() > this.currentTick) {
-                break;
-            }
+    private void tickQueue(TickScheduler queue) {
+        queue.advanceTo(this.currentTick);
 
-            if (queue.poll() != tt) {
-                throw new IllegalStateException();
-            }
+        TickTracker tt;
+        // Nodes alerted while ticking the queue may become due again before the loop ends
+        while ((tt = queue.pollDue()) != null) {
             var diff = (int) (this.currentTick - tt.getLastTick());
             currentlyTicking = tt.getNode();
             TickRateModulation mod;
@@ -311,8 +304,8 @@ private LongSummaryStatistics getStatistics(IGridNode node) {
     /**
      * null as level could be used for virtual nodes.
      */
-    private PriorityQueue<TickTracker> getQueue(@Nullable Level level) {
-        return this.upcomingTicks.computeIfAbsent(level, (key) -> new PriorityQueue<>());
+    private TickScheduler getQueue(@Nullable Level level) {
+        return this.upcomingTicks.computeIfAbsent(level, (key) -> new TickScheduler(this.currentTick - 1));
     }
 
     private void addToQueue(IGridNode node, TickTracker tt) {
@@ -320,9 +313,12 @@ private void addToQueue(IGridNode node, TickTracker tt) {
         queue.add(tt);
     }
 
-    private void removeFromQueue(IGridNode node, TickTracker tt) {
+    private void removeFromQueue(IGridNode node, @Nullable TickTracker tt) {
         var level = node.getLevel();
-        var queue = getQueue(level);
+        var queue = this.upcomingTicks.get(level);
+        if (queue == null) {
+            return;
+        }
         queue.remove(tt);
 
         // Make sure we don't cleanup a queue we are iterating over,
@@ -380,7 +376,7 @@ public NodeStatus getStatus(IGridNode node) {
         boolean isQueued = false;
         var tickQueue = upcomingTicks.get(node.getLevel());
         if (awakeTracker != null && tickQueue != null) {
-            isQueued = Iterators.contains(tickQueue.iterator(), awakeTracker);
+            isQueued = tickQueue.contains(awakeTracker);
         }
 
         // Get the tick-request stats
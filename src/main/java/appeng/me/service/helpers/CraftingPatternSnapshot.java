@@ -0,0 +1,75 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.service.helpers;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.config.FuzzyMode;
+import appeng.api.crafting.IPatternDetails;
+import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
+import appeng.api.storage.AEKeyFilter;
+import appeng.crafting.ICraftingPatternLookup;
+
+/**
+ * Immutable copy of the patterns and emitable keys of {@link NetworkCraftingProviders}, which can be safely used by
+ * crafting calculations running on worker threads.
+ */
+public final class CraftingPatternSnapshot implements ICraftingPatternLookup {
+    private final Map<AEKey, List<IPatternDetails>> patterns;
+    /**
+     * Used for looking up craftable alternatives using fuzzy search (i.e. ignore NBT). Never modified after
+     * construction.
+     */
+    private final KeyCounter craftableItemsList;
+    private final Set<AEKey> emitableItems;
+
+    CraftingPatternSnapshot(Map<AEKey, List<IPatternDetails>> patterns, KeyCounter craftableItemsList,
+            Set<AEKey> emitableItems) {
+        this.patterns = Map.copyOf(patterns);
+        this.craftableItemsList = craftableItemsList;
+        this.emitableItems = Set.copyOf(emitableItems);
+    }
+
+    @Override
+    public Collection<IPatternDetails> getCraftingFor(AEKey whatToCraft) {
+        return patterns.getOrDefault(whatToCraft, List.of());
+    }
+
+    @Nullable
+    @Override
+    public AEKey getFuzzyCraftable(AEKey whatToCraft, AEKeyFilter filter) {
+        for (var fuzzy : craftableItemsList.findFuzzy(whatToCraft, FuzzyMode.IGNORE_ALL)) {
+            if (filter.matches(fuzzy.getKey())) {
+                return fuzzy.getKey();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean canEmitFor(AEKey what) {
+        return emitableItems.contains(what);
+    }
+}
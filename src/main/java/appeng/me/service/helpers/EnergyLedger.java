@@ -0,0 +1,127 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.service.helpers;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
+import appeng.api.networking.energy.IAEPowerStorage;
+
+/**
+ * Keeps track of the energy that can be extracted from the providers of an energy service.
+ * <p/>
+ * When the ledger is opened, the energy that can be extracted from every provider is determined once. Extractions are
+ * withdrawn from the providers immediately, but start at the first provider that still has energy left in the ledger,
+ * and simulated extractions are answered from the ledger alone. This makes extracting energy independent of the number
+ * of providers, which matters for machines that extract energy many times per tick, like crafting CPUs pushing
+ * patterns.
+ */
+public final class EnergyLedger {
+    private IAEPowerStorage[] providers = new IAEPowerStorage[0];
+    private double[] available = new double[0];
+    private int size;
+    /**
+     * Index of the first provider that has energy left in this ledger.
+     */
+    private int cursor;
+    private double remaining;
+    private boolean open;
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Opens the ledger with the energy currently available from the given providers, in the order in which energy
+     * should be extracted from them.
+     */
+    public void open(Collection<IAEPowerStorage> providers) {
+        var count = providers.size();
+        if (this.providers.length < count) {
+            this.providers = new IAEPowerStorage[count];
+            this.available = new double[count];
+        }
+
+        size = 0;
+        cursor = 0;
+        remaining = 0;
+        for (var provider : providers) {
+            var amount = provider.extractAEPower(Double.MAX_VALUE, Actionable.SIMULATE, PowerMultiplier.ONE);
+            this.providers[size] = provider;
+            this.available[size] = amount;
+            size++;
+            remaining += amount;
+        }
+        open = true;
+    }
+
+    /**
+     * @return The energy that can still be extracted according to this ledger.
+     */
+    public double getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Extracts up to the given amount of energy from the providers, in order.
+     *
+     * @param onExhausted Called for every provider that has no energy left, either according to this ledger, or
+     *                    because it had less energy than when the ledger was opened.
+     * @return The amount that was extracted. May exceed the given amount if a provider returned more than requested.
+     */
+    public double withdraw(double amount, Consumer<IAEPowerStorage> onExhausted) {
+        double withdrawn = 0;
+        while (withdrawn < amount && cursor < size) {
+            var provider = providers[cursor];
+            var request = Math.min(available[cursor], amount - withdrawn);
+            var extracted = provider.extractAEPower(request, Actionable.MODULATE, PowerMultiplier.ONE);
+            withdrawn += extracted;
+            available[cursor] -= extracted;
+            remaining -= extracted;
+
+            if (extracted < request || available[cursor] <= 0) {
+                // Whatever the ledger still expected from this provider is gone
+                remaining -= Math.max(0, available[cursor]);
+                available[cursor] = 0;
+                providers[cursor] = null;
+                cursor++;
+                onExhausted.accept(provider);
+            }
+        }
+        remaining = Math.max(0, remaining);
+        return withdrawn;
+    }
+
+    /**
+     * Closes the ledger, so that it is opened with the current energy of the providers the next time.
+     */
+    public void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+
+        for (int i = 0; i < size; i++) {
+            providers[i] = null;
+        }
+        size = 0;
+    }
+}
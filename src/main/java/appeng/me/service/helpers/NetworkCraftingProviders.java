@@ -32,6 +32,11 @@ public class NetworkCraftingProviders {
     private final Set<AEKey> emittableKeys = Collections.unmodifiableSet(emitableItems.keySet());
 
     private long lastModifiedOnTick = TickHandler.instance().getCurrentTick();
+    /**
+     * Immutable copy of the current patterns for crafting calculations. Null if it needs to be rebuilt.
+     */
+    @Nullable
+    private CraftingPatternSnapshot snapshot;
 
     public void addProvider(IGridNode node) {
         var provider = node.getService(ICraftingProvider.class);
@@ -106,6 +111,23 @@ public boolean canEmitFor(AEKey someItem) {
         return this.emitableItems.containsKey(someItem);
     }
 
+    /**
+     * Returns an immutable snapshot of the current patterns and emitable keys. The snapshot is shared until the next
+     * time a provider is added or removed.
+     */
+    public CraftingPatternSnapshot getSnapshot() {
+        if (snapshot == null) {
+            var patterns = new HashMap<AEKey, List<IPatternDetails>>(craftableItems.size());
+            for (var entry : craftableItems.entrySet()) {
+                patterns.put(entry.getKey(), entry.getValue().getSortedPatterns());
+            }
+            var craftables = new KeyCounter();
+            craftables.addAll(craftableItemsList);
+            snapshot = new CraftingPatternSnapshot(patterns, craftables, emitableItems.keySet());
+        }
+        return snapshot;
+    }
+
     public Iterable<ICraftingProvider> getMediums(IPatternDetails key) {
         var mediumList = this.craftingMethods.get(key);
         return Objects.requireNonNullElse(mediumList, Collections.emptyList());
@@ -207,6 +229,7 @@ private void sortPatterns() {
         private List<IPatternDetails> getSortedPatterns() {
             if (needsSorting) {
                 sortPatterns();
+                needsSorting = false;
             }
             return sortedPatterns;
         }
@@ -217,6 +240,7 @@ private record PatternInfo(IPatternDetails pattern, ProviderState state) {
 
     private void setLastModifiedOnTick() {
         lastModifiedOnTick = TickHandler.instance().getCurrentTick();
+        snapshot = null;
     }
 
     /**
@@ -0,0 +1,216 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.service.helpers;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Schedules {@link TickTracker} by their {@link TickTracker#getNextTick() next tick} using a timing wheel.
+ * <p/>
+ * Trackers due within the next {@link #WHEEL_SIZE} ticks are stored in one slot per tick, while trackers due further
+ * in the future are kept in an overflow list that is redistributed onto the wheel once per revolution. Every slot is
+ * an intrusive doubly-linked list, which makes adding, removing and rescheduling a tracker O(1).
+ * <p/>
+ * Trackers that are due at the same tick are ticked in the order they were scheduled in.
+ */
+public final class TickScheduler {
+    private static final int WHEEL_BITS = 8;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    // Bucket indices beyond the wheel slots
+    private static final int DUE = WHEEL_SIZE;
+    private static final int OVERFLOW = WHEEL_SIZE + 1;
+    static final int NOT_SCHEDULED = -1;
+
+    /**
+     * Head of the circular list for each bucket. The tail of a list is the predecessor of its head.
+     */
+    private final TickTracker[] heads = new TickTracker[WHEEL_SIZE + 2];
+
+    /**
+     * The tick the wheel has been advanced to. All trackers with a next tick at or before this are in the due list.
+     */
+    private long currentTick;
+
+    private int size;
+
+    public TickScheduler(long currentTick) {
+        this.currentTick = currentTick;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(TickTracker tt) {
+        return tt.scheduler == this;
+    }
+
+    /**
+     * Schedules the tracker based on its current next tick. If it was already scheduled, it's moved to its new
+     * position.
+     */
+    public void add(TickTracker tt) {
+        if (tt.scheduler != null) {
+            tt.scheduler.remove(tt);
+        }
+
+        link(getBucket(tt.getNextTick()), tt);
+        size++;
+    }
+
+    /**
+     * Removes the tracker from this scheduler, if it was scheduled.
+     */
+    public boolean remove(@Nullable TickTracker tt) {
+        if (tt == null || tt.scheduler != this) {
+            return false;
+        }
+
+        unlink(tt);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given tick, making all trackers due at or before that tick available from
+     * {@link #pollDue()}.
+     */
+    public void advanceTo(long tick) {
+        if (tick - currentTick > WHEEL_SIZE) {
+            // Every tracker on the wheel is due already. Move them in the order of their ticks.
+            for (long t = currentTick + 1; t <= currentTick + WHEEL_SIZE; t++) {
+                moveSlotToDue((int) (t & WHEEL_MASK));
+            }
+            currentTick = tick;
+            cascadeOverflow();
+            return;
+        }
+
+        while (currentTick < tick) {
+            currentTick++;
+            var slot = (int) (currentTick & WHEEL_MASK);
+            moveSlotToDue(slot);
+            // Cascade only after the slot was drained, since trackers due in exactly one revolution are put into it
+            if (slot == 0) {
+                cascadeOverflow();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the next tracker that is due, or null if none is due anymore.
+     */
+    @Nullable
+    public TickTracker pollDue() {
+        var tt = heads[DUE];
+        if (tt != null) {
+            unlink(tt);
+            size--;
+        }
+        return tt;
+    }
+
+    private int getBucket(long nextTick) {
+        var delta = nextTick - currentTick;
+        if (delta <= 0) {
+            return DUE;
+        } else if (delta <= WHEEL_SIZE) {
+            return (int) (nextTick & WHEEL_MASK);
+        } else {
+            return OVERFLOW;
+        }
+    }
+
+    private void moveSlotToDue(int slot) {
+        TickTracker tt;
+        while ((tt = heads[slot]) != null) {
+            unlink(tt);
+            link(DUE, tt);
+        }
+    }
+
+    /**
+     * Moves trackers from the overflow list onto the wheel once they are due within one revolution.
+     */
+    private void cascadeOverflow() {
+        var remaining = countBucket(OVERFLOW);
+        var tt = heads[OVERFLOW];
+        while (remaining-- > 0) {
+            var next = tt.next;
+            var bucket = getBucket(tt.getNextTick());
+            if (bucket != OVERFLOW) {
+                unlink(tt);
+                link(bucket, tt);
+            }
+            tt = next;
+        }
+    }
+
+    private int countBucket(int bucket) {
+        var head = heads[bucket];
+        if (head == null) {
+            return 0;
+        }
+        var count = 1;
+        for (var tt = head.next; tt != head; tt = tt.next) {
+            count++;
+        }
+        return count;
+    }
+
+    private void link(int bucket, TickTracker tt) {
+        var head = heads[bucket];
+        if (head == null) {
+            tt.next = tt;
+            tt.prev = tt;
+            heads[bucket] = tt;
+        } else {
+            var tail = head.prev;
+            tail.next = tt;
+            tt.prev = tail;
+            tt.next = head;
+            head.prev = tt;
+        }
+        tt.bucket = bucket;
+        tt.scheduler = this;
+    }
+
+    private void unlink(TickTracker tt) {
+        var bucket = tt.bucket;
+        if (tt.next == tt) {
+            heads[bucket] = null;
+        } else {
+            tt.prev.next = tt.next;
+            tt.next.prev = tt.prev;
+            if (heads[bucket] == tt) {
+                heads[bucket] = tt.next;
+            }
+        }
+        tt.next = null;
+        tt.prev = null;
+        tt.bucket = NOT_SCHEDULED;
+        tt.scheduler = null;
+    }
+}
@@ -37,6 +37,12 @@ public class TickTracker implements Comparable<TickTracker> {
     private long lastTick;
     private int currentRate;
 
+    // Intrusive list links maintained by TickScheduler
+    TickScheduler scheduler;
+    TickTracker prev;
+    TickTracker next;
+    int bucket = TickScheduler.NOT_SCHEDULED;
+
     public TickTracker(TickingRequest req, IGridNode node, IGridTickable gt, long currentTick) {
         this.request = req;
         this.gt = gt;
@@ -31,6 +31,7 @@ public CompositeStorage(Map<AEKeyType, MEStorage> storages) {
 
     public void setStorages(Map<AEKeyType, MEStorage> storages) {
         this.storages = Objects.requireNonNull(storages);
+        this.cache.storagesChanged = true;
     }
 
     @Override
@@ -105,8 +106,24 @@ public void getAvailableStacks(KeyCounter out) {
     private class InventoryCache {
         private KeyCounter frontBuffer = new KeyCounter();
         private KeyCounter backBuffer = new KeyCounter();
+        private boolean storagesChanged = true;
 
         public boolean update() {
+            // External inventories can detect changes slot by slot. If they all can and none changed, skip the rebuild.
+            boolean allScanned = true;
+            boolean scannedChanges = false;
+            for (var storage : storages.values()) {
+                if (storage instanceof ExternalStorageFacade facade && facade.canCacheSlots()) {
+                    scannedChanges |= facade.updateCache();
+                } else {
+                    allScanned = false;
+                }
+            }
+            if (allScanned && !scannedChanges && !storagesChanged) {
+                return false;
+            }
+            storagesChanged = false;
+
             // Flip back & front buffer and start building a new list
             var tmp = backBuffer;
             backBuffer = frontBuffer;
@@ -115,7 +132,11 @@ public boolean update() {
 
             // Rebuild the front buffer
             for (var storage : storages.values()) {
-                storage.getAvailableStacks(frontBuffer);
+                if (storage instanceof ExternalStorageFacade facade && facade.canCacheSlots()) {
+                    facade.getCachedStacks(frontBuffer);
+                } else {
+                    storage.getAvailableStacks(frontBuffer);
+                }
             }
 
             boolean changed = false;
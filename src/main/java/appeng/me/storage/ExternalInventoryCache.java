@@ -1,15 +1,29 @@
 package appeng.me.storage;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Set;
 
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
 import appeng.api.stacks.AEKey;
-import appeng.api.stacks.GenericStack;
 import appeng.api.stacks.KeyCounter;
 
+/**
+ * Caches the content of an external inventory slot by slot. Slots are compared using the resource and amount reported
+ * by the platform, and only slots whose resource changed are converted into {@link AEKey keys}, so scanning an
+ * unchanged inventory does not allocate.
+ */
 class ExternalInventoryCache {
-    private GenericStack[] cached = new GenericStack[0];
+    private static final Object[] NO_RESOURCES = new Object[0];
+    private static final long[] NO_AMOUNTS = new long[0];
+    private static final AEKey[] NO_KEYS = new AEKey[0];
+
+    // Resource as reported by the platform, null for empty slots
+    private Object[] resources = NO_RESOURCES;
+    private long[] amounts = NO_AMOUNTS;
+    // Key for the resource in each slot, null for empty slots or resources that can't be converted
+    private AEKey[] keys = NO_KEYS;
+    private final ObjectOpenHashSet<AEKey> changes = new ObjectOpenHashSet<>();
     private final ExternalStorageFacade facade;
 
     private ExternalInventoryCache(ExternalStorageFacade facade) {
@@ -21,74 +35,78 @@ public static ExternalInventoryCache of(ExternalStorageFacade facade) {
     }
 
     public void getAvailableItems(KeyCounter out) {
-        for (GenericStack stack : cached) {
-            out.add(stack.what(), stack.amount());
+        for (int slot = 0; slot < keys.length; slot++) {
+            var key = keys[slot];
+            if (key != null) {
+                out.add(key, amounts[slot]);
+            }
         }
     }
 
+    /**
+     * Scans the inventory for changes.
+     *
+     * @return The keys that changed since the last scan. The returned set is reused by the next scan.
+     */
     public Set<AEKey> update() {
-        var changes = new HashSet<AEKey>();
+        changes.clear();
         final int slots = this.facade.getSlots();
 
         // Make room for new slots
-        if (slots > this.cached.length) {
-            this.cached = Arrays.copyOf(this.cached, slots);
+        if (slots > this.resources.length) {
+            resize(slots);
         }
 
         for (int slot = 0; slot < slots; slot++) {
-            // Save the old stuff
-            var oldGenericStack = this.cached[slot];
-            var newGenericStack = facade.getStackInSlot(slot);
+            var resource = facade.getResourceInSlot(slot);
+            var amount = resource != null ? facade.getAmountInSlot(slot) : 0;
+            if (amount <= 0) {
+                resource = null;
+                amount = 0;
+            }
 
-            this.handlePossibleSlotChanges(slot, oldGenericStack, newGenericStack, changes);
+            var oldResource = resources[slot];
+            if (resource == oldResource || resource != null && resource.equals(oldResource)) {
+                // Still the same resource, but amount might have changed
+                if (amount != amounts[slot]) {
+                    amounts[slot] = amount;
+                    addChange(keys[slot]);
+                }
+            } else {
+                // Completely different resource. Notify the network about the disappearance of the old one.
+                addChange(keys[slot]);
+
+                var key = resource != null ? facade.getKey(resource) : null;
+                resources[slot] = resource;
+                amounts[slot] = amount;
+                keys[slot] = key;
+                addChange(key);
+            }
         }
 
         // Handle cases where the number of slots actually is lower now than before
-        if (slots < this.cached.length) {
-            for (int slot = slots; slot < this.cached.length; slot++) {
-                final GenericStack aeStack = this.cached[slot];
-
-                if (aeStack != null) {
-                    changes.add(aeStack.what());
-                }
+        if (slots < this.resources.length) {
+            for (int slot = slots; slot < this.resources.length; slot++) {
+                addChange(keys[slot]);
             }
 
             // Reduce the cache size
-            this.cached = Arrays.copyOf(this.cached, slots);
+            resize(slots);
         }
 
         return changes;
     }
 
-    private void handlePossibleSlotChanges(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        if (oldStack != null && newStack != null && oldStack.what().equals(newStack.what())) {
-            handleAmountChanged(slot, oldStack, newStack, changes);
-        } else {
-            handleItemChanged(slot, oldStack, newStack, changes);
+    private void addChange(AEKey key) {
+        if (key != null) {
+            changes.add(key);
         }
     }
 
-    private void handleAmountChanged(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        // Still the same item, but amount might have changed
-        if (newStack.amount() != oldStack.amount()) {
-            this.cached[slot] = newStack;
-            changes.add(newStack.what());
-        }
-    }
-
-    private void handleItemChanged(int slot, GenericStack oldStack, GenericStack newStack, Set<AEKey> changes) {
-        // Completely different item
-        this.cached[slot] = newStack;
-
-        // If we had a stack previously in this slot, notify the network about its disappearance
-        if (oldStack != null) {
-            changes.add(oldStack.what());
-        }
-
-        // Notify the network about the new stack
-        if (newStack != null) {
-            changes.add(newStack.what());
-        }
+    private void resize(int slots) {
+        this.resources = Arrays.copyOf(this.resources, slots);
+        this.amounts = Arrays.copyOf(this.amounts, slots);
+        this.keys = Arrays.copyOf(this.keys, slots);
     }
 
 }
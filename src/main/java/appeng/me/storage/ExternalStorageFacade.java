@@ -38,6 +38,9 @@ public abstract class ExternalStorageFacade implements MEStorage {
 
     protected boolean extractableOnly;
 
+    @Nullable
+    private ExternalInventoryCache cache;
+
     public void setChangeListener(@Nullable Runnable listener) {
         this.changeListener = listener;
     }
@@ -47,8 +50,51 @@ public void setChangeListener(@Nullable Runnable listener) {
     @Nullable
     public abstract GenericStack getStackInSlot(int slot);
 
+    /**
+     * @return The resource in the given slot as reported by the platform, or null if the slot is empty. This is used to
+     *         detect changes, and should not allocate.
+     */
+    @Nullable
+    abstract Object getResourceInSlot(int slot);
+
+    abstract long getAmountInSlot(int slot);
+
+    /**
+     * Converts a resource returned by {@link #getResourceInSlot} to a key.
+     */
+    @Nullable
+    abstract AEKey getKey(Object resource);
+
     public abstract AEKeyType getKeyType();
 
+    /**
+     * Slots can only be cached if their availability doesn't depend on anything but their content.
+     */
+    public boolean canCacheSlots() {
+        return !extractableOnly;
+    }
+
+    /**
+     * Scans the external inventory for changes, comparing each slot with its cached content.
+     *
+     * @return True if the content changed since the last scan.
+     */
+    public boolean updateCache() {
+        if (cache == null) {
+            cache = ExternalInventoryCache.of(this);
+        }
+        return !cache.update().isEmpty();
+    }
+
+    /**
+     * Adds the content found by the last {@link #updateCache() scan}.
+     */
+    public void getCachedStacks(KeyCounter out) {
+        if (cache != null) {
+            cache.getAvailableItems(out);
+        }
+    }
+
     @Override
     public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
         var inserted = insertExternal(what, Ints.saturatedCast(amount), mode);
@@ -123,6 +169,24 @@ private ItemStack getItemStackInSlot(int slot) {
             return slotView.getResource().toStack(amount);
         }
 
+        @Nullable
+        @Override
+        Object getResourceInSlot(int slot) {
+            var resource = handler.getSlot(slot).getResource();
+            return resource == null || resource.isBlank() ? null : resource;
+        }
+
+        @Override
+        long getAmountInSlot(int slot) {
+            return handler.getSlot(slot).getAmount();
+        }
+
+        @Nullable
+        @Override
+        AEKey getKey(Object resource) {
+            return AEItemKey.of(((ItemVariant) resource).toStack());
+        }
+
         @Override
         public AEKeyType getKeyType() {
             return AEKeyType.items();
@@ -272,6 +336,12 @@ public boolean containsAnyFuzzy(Set<AEKey> keys) {
 
         @Override
         public void getAvailableStacks(KeyCounter out) {
+            if (canCacheSlots()) {
+                updateCache();
+                getCachedStacks(out);
+                return;
+            }
+
             for (int i = 0; i < getSlots(); i++) {
                 // Skip resources that cannot be extracted if that filter was enabled
                 var stack = getItemStackInSlot(i);
@@ -330,6 +400,24 @@ private FluidStack getFluidInTank(int slot) {
             return FluidStack.create(fluid.getFluid(), amount);
         }
 
+        @Nullable
+        @Override
+        Object getResourceInSlot(int slot) {
+            var resource = handler.getSlot(slot).getResource();
+            return resource == null || resource.isBlank() ? null : resource;
+        }
+
+        @Override
+        long getAmountInSlot(int slot) {
+            return handler.getSlot(slot).getAmount();
+        }
+
+        @Nullable
+        @Override
+        AEKey getKey(Object resource) {
+            return AEFluidKey.of(((FluidVariant) resource).getFluid());
+        }
+
         @Override
         public AEKeyType getKeyType() {
             return AEKeyType.fluids();
@@ -390,6 +478,12 @@ public boolean containsAnyFuzzy(Set<AEKey> keys) {
 
         @Override
         public void getAvailableStacks(KeyCounter out) {
+            if (canCacheSlots()) {
+                updateCache();
+                getCachedStacks(out);
+                return;
+            }
+
             try (var tx = Transaction.openOuter()) {
                 for (int i = 0; i < getSlots(); i++) {
                     // Skip resources that cannot be extracted if that filter was enabled
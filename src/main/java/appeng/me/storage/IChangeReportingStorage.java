@@ -0,0 +1,28 @@
+package appeng.me.storage;
+
+import org.jetbrains.annotations.Nullable;
+
+import appeng.api.storage.MEStorage;
+
+/**
+ * Implemented by {@link MEStorage} that can report every change to the stacks they make available through
+ * {@link MEStorage#getAvailableStacks}. This allows the network to maintain its cached inventory incrementally instead
+ * of polling such storages every tick.
+ * <p/>
+ * The network also uses the reported content to route inserts and extracts. Such storages must therefore never
+ * extract keys they don't report as available, and {@link MEStorage#isPreferredStorageFor} must only depend on their
+ * content and configuration. Any change to the configuration must be signaled using
+ * {@link IStorageChangeListener#onResync()}.
+ */
+public interface IChangeReportingStorage {
+
+    /**
+     * Starts reporting changes to the given listener, replacing any previously set listener.
+     *
+     * @param listener The listener to report changes to, or null to stop reporting changes.
+     * @return False if this storage is currently unable to report its changes. The caller has to fall back to polling
+     *         {@link MEStorage#getAvailableStacks} in that case.
+     */
+    boolean setChangeListener(@Nullable IStorageChangeListener listener);
+
+}
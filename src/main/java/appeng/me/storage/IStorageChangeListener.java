@@ -0,0 +1,21 @@
+package appeng.me.storage;
+
+import appeng.api.stacks.AEKey;
+
+/**
+ * Receives changes from an {@link IChangeReportingStorage}.
+ */
+public interface IStorageChangeListener {
+
+    /**
+     * The available amount of the given key has changed by the given (possibly negative) delta.
+     */
+    void onStackChange(AEKey what, long delta);
+
+    /**
+     * The storage changed in a way that can't be expressed as deltas (i.e. its filter was reconfigured). The listener
+     * has to re-read the full content of the storage.
+     */
+    void onResync();
+
+}
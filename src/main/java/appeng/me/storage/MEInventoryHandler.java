@@ -18,6 +18,8 @@
 
 package appeng.me.storage;
 
+import org.jetbrains.annotations.Nullable;
+
 import appeng.api.config.Actionable;
 import appeng.api.config.IncludeExclude;
 import appeng.api.networking.security.IActionSource;
@@ -27,7 +29,7 @@
 import appeng.util.prioritylist.DefaultPriorityList;
 import appeng.util.prioritylist.IPartitionList;
 
-public class MEInventoryHandler extends DelegatingMEInventory {
+public class MEInventoryHandler extends DelegatingMEInventory implements IChangeReportingStorage {
 
     private IPartitionList partitionList = DefaultPriorityList.INSTANCE;
     private IncludeExclude partitionListMode = IncludeExclude.WHITELIST;
@@ -39,12 +41,30 @@ public class MEInventoryHandler extends DelegatingMEInventory {
 
     private boolean gettingAvailableContent = false;
 
+    @Nullable
+    private IStorageChangeListener changeListener;
+    // Forwards the changes of the delegate, applying the same filtering as getAvailableStacks
+    private final IStorageChangeListener delegateChangeListener = new IStorageChangeListener() {
+        @Override
+        public void onStackChange(AEKey what, long delta) {
+            if (changeListener != null && (!filterAvailableContents || canExtract(what))) {
+                changeListener.onStackChange(what, delta);
+            }
+        }
+
+        @Override
+        public void onResync() {
+            notifyResync();
+        }
+    };
+
     public MEInventoryHandler(MEStorage inventory) {
         super(inventory);
     }
 
     public void setAllowExtraction(boolean allowExtraction) {
         this.allowExtraction = allowExtraction;
+        notifyResync();
     }
 
     public void setAllowInsertion(boolean allowInsertion) {
@@ -57,6 +77,7 @@ protected IncludeExclude getWhitelist() {
 
     public void setWhitelist(IncludeExclude myWhitelist) {
         this.partitionListMode = myWhitelist;
+        notifyResync();
     }
 
     protected IPartitionList getPartitionList() {
@@ -65,17 +86,58 @@ protected IPartitionList getPartitionList() {
 
     public void setPartitionList(IPartitionList myPartitionList) {
         this.partitionList = myPartitionList;
+        notifyResync();
     }
 
     public void setExtractFiltering(boolean filterOnExtraction, boolean filterAvailableContents) {
         this.filterOnExtraction = filterOnExtraction;
         this.filterAvailableContents = filterAvailableContents;
+        notifyResync();
     }
 
     public void setVoidOverflow(boolean voidOverflow) {
         this.voidOverflow = voidOverflow;
     }
 
+    @Override
+    protected void setDelegate(MEStorage delegate) {
+        if (changeListener != null && getDelegate() instanceof IChangeReportingStorage reportingStorage) {
+            reportingStorage.setChangeListener(null);
+        }
+        super.setDelegate(delegate);
+        notifyResync();
+    }
+
+    @Override
+    public boolean setChangeListener(@Nullable IStorageChangeListener listener) {
+        if (!(getDelegate() instanceof IChangeReportingStorage reportingStorage)) {
+            this.changeListener = null;
+            return false;
+        }
+
+        if (listener == null) {
+            this.changeListener = null;
+            reportingStorage.setChangeListener(null);
+            return true;
+        }
+
+        if (!reportingStorage.setChangeListener(delegateChangeListener)) {
+            this.changeListener = null;
+            return false;
+        }
+        this.changeListener = listener;
+        return true;
+    }
+
+    /**
+     * Changes to the filtering or the delegate can't be expressed as deltas.
+     */
+    private void notifyResync() {
+        if (changeListener != null) {
+            changeListener.onResync();
+        }
+    }
+
     @Override
     public long insert(AEKey what, long amount, Actionable mode, IActionSource source) {
         if (!this.allowInsertion || !passesBlackOrWhitelist(what)) {
@@ -19,6 +19,7 @@
 package appeng.me.storage;
 
 import java.util.*;
+import java.util.function.ObjLongConsumer;
 
 import com.google.common.base.Preconditions;
 
@@ -26,6 +27,10 @@
 
 import net.minecraft.network.chat.Component;
 
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
 import appeng.api.config.Actionable;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEKey;
@@ -43,8 +48,25 @@ public class NetworkStorage implements MEStorage {
     // they're being iterated, and recursive extract/insert/list operations.
     private boolean mountsInUse;
 
-    private final NavigableMap<Integer, List<MEStorage>> priorityInventory;
-    private final List<MEStorage> secondPassInventories = new ArrayList<>();
+    private final NavigableMap<Integer, List<MountedStorage>> priorityInventory;
+    private final List<MountedStorage> secondPassInventories = new ArrayList<>();
+
+    // Tracks what every mounted inventory currently contributes to the available stacks of the network.
+    private final Map<MEStorage, MountedStorage> mountedStorage = new IdentityHashMap<>();
+    // Changes to the available stacks that accumulated since the last call to pollAvailableStackChanges.
+    private Object2LongOpenHashMap<AEKey> changeJournal = new Object2LongOpenHashMap<>();
+    private Object2LongOpenHashMap<AEKey> changeJournalBackBuffer = new Object2LongOpenHashMap<>();
+    private final KeyCounter scanBuffer = new KeyCounter();
+
+    // Caches which of the change-reporting mounts are preferred storage for a given key, so inserts don't have to ask
+    // every mounted inventory. Their answer only depends on their content and configuration (see
+    // IChangeReportingStorage), so it is cached per key. Entries are dropped whenever the contents of a mount change
+    // such that the answer might change, and the whole cache is dropped when the mounts change.
+    private final Map<AEKey, Set<MountedStorage>> preferredStorageCache = new HashMap<>();
+    // Keys that no change-reporting mount prefers, under the same invalidation. These keys aren't necessarily
+    // referenced by the network otherwise, so this set is dropped once it grows too large.
+    private final Set<AEKey> notPreferredCache = new HashSet<>();
+    private static final int MAX_NOT_PREFERRED_CACHE_SIZE = 4096;
 
     // Queued mount/unmount operations that occurred while an insert/extract was ongoing
     // Is only non-null if something is queued
@@ -62,8 +84,21 @@ public void mount(int priority, MEStorage inventory) {
             }
             queuedOperations.add(new MountOperation(priority, inventory));
         } else {
+            var mounted = mountedStorage.get(inventory);
+            if (mounted == null) {
+                mounted = new MountedStorage(inventory);
+                mountedStorage.put(inventory, mounted);
+                mountsInUse = true;
+                try {
+                    mounted.resync();
+                } finally {
+                    mountsInUse = false;
+                }
+            }
+
             this.priorityInventory.computeIfAbsent(priority, k -> new ArrayList<>())
-                    .add(inventory);
+                    .add(mounted);
+            invalidatePreferredStorage();
         }
     }
 
@@ -79,10 +114,16 @@ public void unmount(MEStorage inventory) {
                 var prioEntry = prioIt.next();
 
                 var inventories = prioEntry.getValue();
-                if (inventories.remove(inventory) && inventories.isEmpty()) {
+                if (inventories.removeIf(mounted -> mounted.inventory == inventory) && inventories.isEmpty()) {
                     prioIt.remove();
                 }
             }
+
+            var mounted = mountedStorage.remove(inventory);
+            if (mounted != null) {
+                mounted.unmount();
+                invalidatePreferredStorage();
+            }
         }
     }
 
@@ -95,6 +136,8 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
 
         mountsInUse = true;
         try {
+            var preferredStorage = getPreferredStorage(what, src);
+
             for (var invList : this.priorityInventory.values()) {
                 secondPassInventories.clear();
 
@@ -102,30 +145,37 @@ public long insert(AEKey what, long amount, Actionable type, IActionSource src)
                 // stack
                 var ii = invList.iterator();
                 while (ii.hasNext() && remaining > 0) {
-                    var inv = ii.next();
+                    var mounted = ii.next();
 
-                    if (isQueuedForRemoval(inv)) {
+                    if (isQueuedForRemoval(mounted.inventory)) {
                         continue;
                     }
 
-                    if (inv.isPreferredStorageFor(what, src)) {
-                        remaining -= inv.insert(what, remaining, type, src);
+                    boolean preferred;
+                    if (mounted.isIndexed()) {
+                        preferred = preferredStorage.contains(mounted);
+                    } else {
+                        preferred = mounted.inventory.isPreferredStorageFor(what, src);
+                    }
+
+                    if (preferred) {
+                        remaining -= mounted.inventory.insert(what, remaining, type, src);
                     } else {
-                        secondPassInventories.add(inv);
+                        secondPassInventories.add(mounted);
                     }
                 }
 
                 // Then give every remaining inventory a chance
-                for (var inv : secondPassInventories) {
+                for (var mounted : secondPassInventories) {
                     if (remaining <= 0) {
                         break;
                     }
 
-                    if (isQueuedForRemoval(inv)) {
+                    if (isQueuedForRemoval(mounted.inventory)) {
                         continue;
                     }
 
-                    remaining -= inv.insert(what, remaining, type, src);
+                    remaining -= mounted.inventory.insert(what, remaining, type, src);
                 }
             }
 
@@ -155,6 +205,50 @@ private void flushQueuedOperations() {
         }
     }
 
+    /**
+     * Returns the change-reporting mounts that are preferred storage for the given key.
+     */
+    private Set<MountedStorage> getPreferredStorage(AEKey what, IActionSource src) {
+        var cached = preferredStorageCache.get(what);
+        if (cached != null) {
+            return cached;
+        }
+        if (notPreferredCache.contains(what)) {
+            return Set.of();
+        }
+
+        var result = new ReferenceOpenHashSet<MountedStorage>();
+        for (var mounted : mountedStorage.values()) {
+            if (!mounted.isIndexed()) {
+                continue;
+            }
+            // Mounts that already hold the key prefer it, which doesn't need to be simulated
+            if (mounted.contents.containsKey(what) || mounted.inventory.isPreferredStorageFor(what, src)) {
+                result.add(mounted);
+            }
+        }
+
+        if (result.isEmpty()) {
+            if (notPreferredCache.size() >= MAX_NOT_PREFERRED_CACHE_SIZE) {
+                notPreferredCache.clear();
+            }
+            notPreferredCache.add(what);
+            return Set.of();
+        }
+        preferredStorageCache.put(what, result);
+        return result;
+    }
+
+    private void invalidatePreferredStorage(AEKey what) {
+        preferredStorageCache.remove(what);
+        notPreferredCache.remove(what);
+    }
+
+    private void invalidatePreferredStorage() {
+        preferredStorageCache.clear();
+        notPreferredCache.clear();
+    }
+
     private boolean isQueuedForRemoval(MEStorage inv) {
         if (queuedOperations != null) {
             for (var queuedOperation : queuedOperations) {
@@ -178,13 +272,18 @@ public long extract(AEKey what, long amount, Actionable mode, IActionSource sour
             for (var invList : this.priorityInventory.descendingMap().values()) {
                 var ii = invList.iterator();
                 while (ii.hasNext() && extracted < amount) {
-                    var inv = ii.next();
+                    var mounted = ii.next();
 
-                    if (isQueuedForRemoval(inv)) {
+                    // Change-reporting mounts can't give us anything they don't hold
+                    if (mounted.isIndexed() && !mounted.contents.containsKey(what)) {
                         continue;
                     }
 
-                    extracted += inv.extract(what, amount - extracted, mode, source);
+                    if (isQueuedForRemoval(mounted.inventory)) {
+                        continue;
+                    }
+
+                    extracted += mounted.inventory.extract(what, amount - extracted, mode, source);
                 }
             }
         } finally {
@@ -206,12 +305,61 @@ public void getAvailableStacks(KeyCounter out) {
         try {
             for (var i : this.priorityInventory.values()) {
                 for (var j : i) {
-                    j.getAvailableStacks(out);
+                    j.inventory.getAvailableStacks(out);
+                }
+            }
+        } finally {
+            mountsInUse = false;
+        }
+    }
+
+    /**
+     * Polls all mounted inventories that cannot report their own changes, and then passes the net change of every key
+     * whose available amount changed since the last call to the given consumer. Inventories that do report their
+     * changes (see {@link IChangeReportingStorage}) are not polled, which makes this O(changes) for them instead of
+     * O(stored types).
+     */
+    public void pollAvailableStackChanges(ObjLongConsumer<AEKey> consumer) {
+        if (mountsInUse) {
+            return; // Prevent recursive use
+        }
+
+        mountsInUse = true;
+        try {
+            for (var mounted : mountedStorage.values()) {
+                if (mounted.needsResync) {
+                    mounted.resync();
+                } else if (!mounted.reportsChanges) {
+                    mounted.rescan();
                 }
             }
         } finally {
             mountsInUse = false;
         }
+
+        flushQueuedOperations();
+
+        // Swap the journal first since the consumer might cause further changes
+        var changes = changeJournal;
+        changeJournal = changeJournalBackBuffer;
+        changeJournalBackBuffer = changes;
+
+        for (var entry : Object2LongMaps.fastIterable(changes)) {
+            if (entry.getLongValue() != 0) {
+                consumer.accept(entry.getKey(), entry.getLongValue());
+            }
+        }
+        changes.clear();
+    }
+
+    /**
+     * Forces all mounted inventories to be fully re-read on the next call to {@link #pollAvailableStackChanges}, even
+     * if they report their changes.
+     */
+    public void resyncAvailableStacks() {
+        for (var mounted : mountedStorage.values()) {
+            mounted.needsResync = true;
+        }
     }
 
     @Override
@@ -219,6 +367,102 @@ public Component getDescription() {
         return GuiText.MENetworkStorage.text();
     }
 
+    /**
+     * The contribution of a mounted inventory to the available stacks of the network.
+     */
+    private class MountedStorage implements IStorageChangeListener {
+        private final MEStorage inventory;
+        private final Object2LongOpenHashMap<AEKey> contents = new Object2LongOpenHashMap<>();
+        private boolean reportsChanges;
+        private boolean needsResync;
+
+        MountedStorage(MEStorage inventory) {
+            this.inventory = inventory;
+        }
+
+        @Override
+        public void onStackChange(AEKey what, long delta) {
+            if (!reportsChanges || delta == 0) {
+                return;
+            }
+
+            var oldAmount = contents.addTo(what, delta);
+            if (oldAmount + delta == 0) {
+                contents.removeLong(what);
+                invalidatePreferredStorage(what);
+            } else if (oldAmount == 0) {
+                invalidatePreferredStorage(what);
+            }
+            changeJournal.addTo(what, delta);
+        }
+
+        @Override
+        public void onResync() {
+            needsResync = true;
+            invalidatePreferredStorage();
+        }
+
+        /**
+         * @return True if {@link #contents} is known to be up-to-date, which allows inserts and extracts to be routed
+         *         without asking the inventory.
+         */
+        boolean isIndexed() {
+            return reportsChanges && !needsResync;
+        }
+
+        /**
+         * Re-subscribes to the changes of the inventory and re-reads its full content.
+         */
+        void resync() {
+            needsResync = false;
+            invalidatePreferredStorage();
+            if (inventory instanceof IChangeReportingStorage reportingStorage) {
+                reportingStorage.setChangeListener(null);
+                reportsChanges = reportingStorage.setChangeListener(this);
+            }
+            rescan();
+        }
+
+        /**
+         * Re-reads the full content of the inventory and records the difference to the previous content.
+         */
+        void rescan() {
+            scanBuffer.clear();
+            inventory.getAvailableStacks(scanBuffer);
+
+            for (var entry : scanBuffer) {
+                var amount = entry.getLongValue();
+                if (amount != 0) {
+                    var delta = amount - contents.put(entry.getKey(), amount);
+                    if (delta != 0) {
+                        changeJournal.addTo(entry.getKey(), delta);
+                    }
+                }
+            }
+
+            var it = Object2LongMaps.fastIterator(contents);
+            while (it.hasNext()) {
+                var entry = it.next();
+                if (scanBuffer.get(entry.getKey()) == 0) {
+                    changeJournal.addTo(entry.getKey(), -entry.getLongValue());
+                    it.remove();
+                }
+            }
+        }
+
+        void unmount() {
+            if (reportsChanges && inventory instanceof IChangeReportingStorage reportingStorage) {
+                reportingStorage.setChangeListener(null);
+            }
+            reportsChanges = false;
+
+            for (var entry : Object2LongMaps.fastIterable(contents)) {
+                changeJournal.addTo(entry.getKey(), -entry.getLongValue());
+            }
+            contents.clear();
+        }
+    }
+
     sealed interface QueuedOperation permits MountOperation, UnmountOperation {
     }
 
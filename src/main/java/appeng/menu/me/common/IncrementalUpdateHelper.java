@@ -70,6 +70,13 @@ public long getOrAssignSerial(AEKey key) {
         return mapping.computeIfAbsent(key, k -> ++this.serial);
     }
 
+    /**
+     * @return The keys that currently have a serial assigned.
+     */
+    public Set<AEKey> getKeys() {
+        return mapping.keySet();
+    }
+
     public AEKey getBySerial(long serial) {
         return mapping.inverse().get(serial);
     }
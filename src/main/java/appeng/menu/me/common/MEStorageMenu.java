@@ -30,6 +30,7 @@
 
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.MenuType;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
@@ -54,6 +55,7 @@
 import appeng.api.storage.ITerminalHost;
 import appeng.api.storage.MEStorage;
 import appeng.api.storage.StorageHelper;
+import appeng.api.storage.SupplierStorage;
 import appeng.api.storage.cells.IBasicCellItem;
 import appeng.api.util.IConfigManager;
 import appeng.api.util.IConfigurableObject;
@@ -68,6 +70,10 @@
 import appeng.core.network.serverbound.MEInteractionPacket;
 import appeng.helpers.InventoryAction;
 import appeng.me.helpers.ActionHostEnergySource;
+import appeng.me.helpers.EncodedKeyCache;
+import appeng.me.helpers.KeyChangeFeed;
+import appeng.me.service.CraftingService;
+import appeng.me.service.StorageService;
 import appeng.menu.AEBaseMenu;
 import appeng.menu.SlotSemantics;
 import appeng.menu.ToolboxMenu;
@@ -142,6 +148,19 @@ public class MEStorageMenu extends AEBaseMenu
      */
     private Set<AEKey> previousCraftables = Collections.emptySet();
     private KeyCounter previousAvailableStacks = new KeyCounter();
+    /**
+     * The shared key encodings in which the keys known to the client are retained.
+     */
+    @Nullable
+    private EncodedKeyCache keyEncodings;
+    /**
+     * Changes published by the grid this terminal views, if it shows the unfiltered content of a grid. While
+     * subscribed, {@link #previousAvailableStacks} isn't used, and {@link #previousCraftables} is updated in place.
+     */
+    @Nullable
+    private KeyChangeFeed.Subscription inventoryChanges;
+    @Nullable
+    private KeyChangeFeed.Subscription craftableChanges;
 
     public MEStorageMenu(MenuType<?> menuType, int id, Inventory ip, ITerminalHost host) {
         this(menuType, id, ip, host, true);
@@ -241,30 +260,48 @@ public void broadcastChanges() {
                 this.searchKeyTypes = new SyncedKeyTypes(keyTypeSelectionHost.getKeyTypeSelection().enabled());
             }
 
-            var craftables = getCraftablesFromGrid();
-            var availableStacks = storage.getAvailableStacks();
-
             // This is currently not supported/backed by any network service
             var requestables = new KeyCounter();
 
             try {
-                // Craftables
-                // Newly craftable
-                Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
-                // No longer craftable
-                Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+                KeyCounter availableStacks;
+                Set<AEKey> craftables;
+
+                var storageService = getViewedStorageService();
+                if (storageService != null) {
+                    // Only look at the keys the grid reports as changed, instead of comparing its entire content
+                    availableStacks = storageService.getCachedInventory();
+                    pollInventoryChanges(storageService, availableStacks);
+                    craftables = pollCraftableChanges();
+                } else {
+                    closeChangeFeeds();
+
+                    craftables = getCraftablesFromGrid();
+                    availableStacks = storage.getAvailableStacks();
+
+                    // Craftables
+                    // Newly craftable
+                    Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
+                    // No longer craftable
+                    Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+
+                    // Available changes
+                    previousAvailableStacks.removeAll(availableStacks);
+                    previousAvailableStacks.removeZeros();
+                    previousAvailableStacks.keySet().forEach(updateHelper::addChange);
 
-                // Available changes
-                previousAvailableStacks.removeAll(availableStacks);
-                previousAvailableStacks.removeZeros();
-                previousAvailableStacks.keySet().forEach(updateHelper::addChange);
+                    previousCraftables = ImmutableSet.copyOf(craftables);
+                    previousAvailableStacks = availableStacks;
+                }
 
                 if (updateHelper.hasChanges()) {
-                    var builder = MEInventoryUpdatePacket
-                            .builder(containerId, updateHelper.isFullUpdate(), getPlayer().registryAccess());
-                    builder.setFilter(this::isKeyVisible);
-                    builder.addChanges(updateHelper, availableStacks, craftables, requestables);
-                    builder.buildAndSend(this::sendPacketToClient);
+                    try (var builder = MEInventoryUpdatePacket
+                            .builder(containerId, updateHelper.isFullUpdate(), getPlayer().registryAccess())) {
+                        builder.setFilter(this::isKeyVisible);
+                        builder.setKeyEncodings(updateKeyEncodings());
+                        builder.addChanges(updateHelper, availableStacks, craftables, requestables);
+                        builder.buildAndSend(this::sendPacketToClient);
+                    }
                     updateHelper.commitChanges();
                 }
 
@@ -272,14 +309,151 @@ public void broadcastChanges() {
                 AELog.warn(e, "Failed to send incremental inventory update to client");
             }
 
-            previousCraftables = ImmutableSet.copyOf(craftables);
-            previousAvailableStacks = availableStacks;
-
             super.broadcastChanges();
         }
 
     }
 
+    /**
+     * @return The storage service of the grid, if this terminal shows the unfiltered content of that grid. In that case,
+     *         the changes published by the grid's services can be used instead of comparing the entire content.
+     */
+    @Nullable
+    private StorageService getViewedStorageService() {
+        var node = getGridNode();
+        if (node == null
+                || !(node.getGrid().getStorageService() instanceof StorageService storageService)
+                || !(node.getGrid().getCraftingService() instanceof CraftingService)) {
+            return null;
+        }
+
+        var viewedStorage = storage instanceof SupplierStorage supplierStorage ? supplierStorage.getDelegate()
+                : storage;
+        return viewedStorage == storageService.getInventory() ? storageService : null;
+    }
+
+    @Nullable
+    private CraftingService getViewedCraftingService() {
+        var node = getGridNode();
+        if (!showsCraftables() || node == null || !node.isActive()) {
+            return null;
+        }
+        return (CraftingService) node.getGrid().getCraftingService();
+    }
+
+    private void pollInventoryChanges(StorageService storageService, KeyCounter availableStacks) {
+        var feed = storageService.getInventoryChanges();
+        if (inventoryChanges == null || !inventoryChanges.isSubscribedTo(feed)) {
+            if (inventoryChanges != null) {
+                inventoryChanges.close();
+            }
+            inventoryChanges = feed.subscribe();
+            queueAllKeys(availableStacks);
+        } else if (!inventoryChanges.poll(updateHelper::addChange)) {
+            queueAllKeys(availableStacks);
+        }
+    }
+
+    /**
+     * Compares everything the client knows with the given content once, when changes can't be tracked.
+     */
+    private void queueAllKeys(KeyCounter availableStacks) {
+        updateHelper.getKeys().forEach(updateHelper::addChange);
+        for (var entry : availableStacks) {
+            updateHelper.addChange(entry.getKey());
+        }
+        previousAvailableStacks = new KeyCounter();
+    }
+
+    private Set<AEKey> pollCraftableChanges() {
+        var craftingService = getViewedCraftingService();
+        if (craftingService == null) {
+            closeCraftableChanges();
+            return previousCraftables;
+        }
+
+        var feed = craftingService.getCraftableChanges();
+        if (craftableChanges == null || !craftableChanges.isSubscribedTo(feed)) {
+            closeCraftableChanges();
+            craftableChanges = feed.subscribe();
+            resyncCraftables(craftingService);
+        } else if (!craftableChanges.poll(what -> {
+            updateHelper.addChange(what);
+            if (isKeyVisible(what) && (craftingService.isCraftable(what) || craftingService.canEmitFor(what))) {
+                previousCraftables.add(what);
+            } else {
+                previousCraftables.remove(what);
+            }
+        })) {
+            resyncCraftables(craftingService);
+        }
+        return previousCraftables;
+    }
+
+    private void resyncCraftables(CraftingService craftingService) {
+        var craftables = craftingService.getCraftables(this::isKeyVisible);
+        Sets.difference(previousCraftables, craftables).forEach(updateHelper::addChange);
+        Sets.difference(craftables, previousCraftables).forEach(updateHelper::addChange);
+        previousCraftables = craftables;
+    }
+
+    private void closeChangeFeeds() {
+        if (inventoryChanges != null) {
+            inventoryChanges.close();
+            inventoryChanges = null;
+            // Whatever is viewed next has to be compared with everything the client knows
+            updateHelper.getKeys().forEach(updateHelper::addChange);
+        }
+        closeCraftableChanges();
+    }
+
+    private void closeCraftableChanges() {
+        if (craftableChanges != null) {
+            craftableChanges.close();
+            craftableChanges = null;
+            previousCraftables.forEach(updateHelper::addChange);
+            previousCraftables = Collections.emptySet();
+        }
+    }
+
+    /**
+     * Switches to the key encodings shared by the terminals of the grid we're currently connected to. The keys known to
+     * the client are moved over from the previous grid.
+     */
+    @Nullable
+    private EncodedKeyCache updateKeyEncodings() {
+        EncodedKeyCache current = null;
+        var node = getGridNode();
+        if (node != null && node.getGrid().getStorageService() instanceof StorageService storageService) {
+            current = storageService.getKeyEncodings();
+        }
+
+        if (current != keyEncodings) {
+            for (var key : updateHelper.getKeys()) {
+                if (keyEncodings != null) {
+                    keyEncodings.release(key);
+                }
+                if (current != null) {
+                    current.retain(key);
+                }
+            }
+            keyEncodings = current;
+        }
+        return current;
+    }
+
+    @Override
+    public void removed(Player player) {
+        super.removed(player);
+        closeChangeFeeds();
+        if (keyEncodings != null) {
+            for (var key : updateHelper.getKeys()) {
+                keyEncodings.release(key);
+            }
+            keyEncodings = null;
+        }
+    }
+
     @Override
     public void onServerDataSync(ShortSet updatedFields) {
         super.onServerDataSync(updatedFields);
@@ -18,7 +18,6 @@
 
 package appeng.parts.automation;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +34,7 @@
 import appeng.api.behaviors.StackExportStrategy;
 import appeng.api.behaviors.StackTransferContext;
 import appeng.api.config.Actionable;
+import appeng.api.config.FuzzyMode;
 import appeng.api.config.SchedulingMode;
 import appeng.api.config.Settings;
 import appeng.api.config.YesNo;
@@ -48,6 +48,7 @@
 import appeng.api.parts.IPartItem;
 import appeng.api.parts.IPartModel;
 import appeng.api.stacks.AEKey;
+import appeng.api.stacks.KeyCounter;
 import appeng.api.util.IConfigManagerBuilder;
 import appeng.core.AppEng;
 import appeng.core.definitions.AEItems;
@@ -81,12 +82,17 @@ public class ExportBusPart extends IOBusPart implements ICraftingRequester, INei
 
     private final MultiCraftingTracker craftingTracker;
     private int nextSlot = 0;
+    /**
+     * The variant that was last exported from each config slot in fuzzy mode.
+     */
+    private final AEKey[] fuzzyCursors;
     @Nullable
     private StackExportStrategy exportStrategy;
 
     public ExportBusPart(IPartItem<?> partItem) {
         super(TickRates.ExportBus, StackWorldBehaviors.withExportStrategy(), partItem);
         this.craftingTracker = new MultiCraftingTracker(this, getConfig().size());
+        this.fuzzyCursors = new AEKey[getConfig().size()];
         getMainNode().addService(ICraftingRequester.class, this);
     }
 
@@ -147,19 +153,7 @@ protected boolean doBusWork(IGrid grid) {
             var before = context.getOperationsRemaining();
 
             if (isUpgradedWith(AEItems.FUZZY_CARD)) {
-                // When fuzzy exporting, simply attempt export of all items in the set of fuzzy-equals keys
-                for (var fuzzyWhat : ImmutableList
-                        .copyOf(storageService.getCachedInventory().findFuzzy(what, fzMode))) {
-                    // The max amount exported is scaled by the key-space's transfer factor (think millibuckets vs.
-                    // items)
-                    var transferFactory = fuzzyWhat.getKey().getAmountPerOperation();
-                    long amount = (long) context.getOperationsRemaining() * transferFactory;
-                    amount = getExportStrategy().transfer(context, fuzzyWhat.getKey(), amount);
-                    context.reduceOperationsRemaining(Math.max(1, amount / transferFactory));
-                    if (!context.hasOperationsLeft()) {
-                        break;
-                    }
-                }
+                exportFuzzy(context, storageService.getCachedInventory(), slotToExport, what, fzMode);
             } else {
                 // The max amount exported is scaled by the key-space's transfer factor (think millibuckets vs. items)
                 var transferFactor = what.getAmountPerOperation();
@@ -183,6 +177,46 @@ protected boolean doBusWork(IGrid grid) {
         return context.hasDoneWork();
     }
 
+    /**
+     * Exports the variants of the given key that match it in fuzzy mode. Exporting resumes from the variant that was
+     * last exported successfully from the same slot, so that a bus with few operations doesn't keep retrying variants
+     * the target refuses.
+     */
+    private void exportFuzzy(StackTransferContext context, KeyCounter inventory, int slot, AEKey what,
+            FuzzyMode fzMode) {
+        var start = inventory.findFuzzyFrom(what, fzMode, fuzzyCursors[slot]);
+        var fuzzyWhat = start;
+        var wrapped = false;
+        while (fuzzyWhat != null) {
+            // The max amount exported is scaled by the key-space's transfer factor (think millibuckets vs. items)
+            var transferFactor = fuzzyWhat.getAmountPerOperation();
+            long amount = (long) context.getOperationsRemaining() * transferFactor;
+            amount = getExportStrategy().transfer(context, fuzzyWhat, amount);
+            context.reduceOperationsRemaining(Math.max(1, amount / transferFactor));
+
+            var next = inventory.findFuzzyAfter(what, fzMode, fuzzyWhat);
+            if (amount > 0) {
+                fuzzyCursors[slot] = fuzzyWhat;
+            } else if (!context.hasOperationsLeft()) {
+                // Don't try the same variant again first next time
+                fuzzyCursors[slot] = next;
+            }
+            if (!context.hasOperationsLeft()) {
+                break;
+            }
+
+            if (next == null && !wrapped) {
+                // Continue with the variants before the one we started from
+                wrapped = true;
+                next = inventory.findFuzzyFrom(what, fzMode, null);
+            }
+            if (wrapped && start.equals(next)) {
+                break;
+            }
+            fuzzyWhat = next;
+        }
+    }
+
     private void attemptCrafting(StackTransferContext context, ICraftingService cg, int slotToExport, AEKey what) {
         // don't bother crafting / checking or result, if target cannot accept at least 1 of requested item
         var maxAmount = context.getOperationsRemaining() * what.getAmountPerOperation();
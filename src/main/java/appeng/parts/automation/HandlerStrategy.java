@@ -8,8 +8,13 @@
 import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
 import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
 import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.minecraft.world.item.ItemStack;
 
+import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+
 import dev.architectury.fluid.FluidStack;
 
 import appeng.api.config.Actionable;
@@ -41,6 +46,16 @@ public AEKeyType getKeyType() {
 
     public abstract long insert(C handler, AEKey what, long amount, Actionable mode);
 
+    /**
+     * Adds the content of the handler to the given map, summing up the amounts of all slots with the same key.
+     */
+    public abstract void getExtractableStacks(C handler, Object2LongMap<AEKey> out);
+
+    /**
+     * Extracts from the handler as part of the given transaction, regardless of the slots the key is stored in.
+     */
+    public abstract long extract(C handler, AEKey what, long amount, TransactionContext transaction);
+
     public static final HandlerStrategy<Storage<ItemVariant>, ItemStack> ITEMS = new HandlerStrategy<>(
             AEKeyType.items()) {
         @Override
@@ -75,6 +90,35 @@ public long insert(Storage<ItemVariant> handler, AEKey what, long amount, Action
             return 0;
         }
 
+        @Override
+        public void getExtractableStacks(Storage<ItemVariant> handler, Object2LongMap<AEKey> out) {
+            if (!handler.supportsExtraction()) {
+                return;
+            }
+
+            // Group by variant first, so that a key only has to be created once per distinct item
+            var amounts = new Object2LongLinkedOpenHashMap<ItemVariant>();
+            for (var view : handler.nonEmptyViews()) {
+                amounts.addTo(view.getResource(), view.getAmount());
+            }
+
+            for (var entry : Object2LongMaps.fastIterable(amounts)) {
+                var what = AEItemKey.of(entry.getKey().toStack());
+                if (what != null) {
+                    out.put(what, out.getLong(what) + entry.getLongValue());
+                }
+            }
+        }
+
+        @Override
+        public long extract(Storage<ItemVariant> handler, AEKey what, long amount, TransactionContext transaction) {
+            if (what instanceof AEItemKey itemKey && amount > 0) {
+                return handler.extract(itemKey.toVariant(), amount, transaction);
+            }
+
+            return 0;
+        }
+
         @org.jetbrains.annotations.Nullable
         @Override
         public ItemStack getStack(AEKey what, long amount) {
@@ -118,6 +162,27 @@ public long insert(Storage<FluidVariant> handler, AEKey what, long amount, Actio
             return 0;
         }
 
+        @Override
+        public void getExtractableStacks(Storage<FluidVariant> handler, Object2LongMap<AEKey> out) {
+            if (!handler.supportsExtraction()) {
+                return;
+            }
+
+            for (var view : handler.nonEmptyViews()) {
+                var what = AEFluidKey.of(view.getResource().getFluid());
+                out.put(what, out.getLong(what) + view.getAmount());
+            }
+        }
+
+        @Override
+        public long extract(Storage<FluidVariant> handler, AEKey what, long amount, TransactionContext transaction) {
+            if (what instanceof AEFluidKey fluidKey && amount > 0) {
+                return handler.extract(fluidKey.toVariant(), amount, transaction);
+            }
+
+            return 0;
+        }
+
         @Override
         public FluidStack getStack(AEKey what, long amount) {
             if (what instanceof AEFluidKey fluidKey) {
@@ -1,16 +1,23 @@
 package appeng.parts.automation;
 
+import org.jetbrains.annotations.VisibleForTesting;
+
 import net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache;
 import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
 import net.fabricmc.fabric.api.transfer.v1.fluid.FluidStorage;
 import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
 
+import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+
 import appeng.api.behaviors.StackImportStrategy;
 import appeng.api.behaviors.StackTransferContext;
 import appeng.api.config.Actionable;
+import appeng.api.stacks.AEKey;
 import appeng.core.AELog;
 
 /**
@@ -21,6 +28,10 @@
     private final BlockApiCache<T, Direction> cache;
     private final HandlerStrategy<T, S> conversion;
     private final Direction fromSide;
+    /**
+     * The content of the adjacent storage by key, in the order it was found in.
+     */
+    private final Object2LongLinkedOpenHashMap<AEKey> extractable = new Object2LongLinkedOpenHashMap<>();
 
     public StorageImportStrategy(
             BlockApiLookup<T, Direction> capability,
@@ -28,7 +39,12 @@ public StorageImportStrategy(
             ServerLevel level,
             BlockPos fromPos,
             Direction fromSide) {
-        this.cache = BlockApiCache.create(capability, level, fromPos);
+        this(BlockApiCache.create(capability, level, fromPos), conversion, fromSide);
+    }
+
+    @VisibleForTesting
+    StorageImportStrategy(BlockApiCache<T, Direction> cache, HandlerStrategy<T, S> conversion, Direction fromSide) {
+        this.cache = cache;
         this.conversion = conversion;
         this.fromSide = fromSide;
     }
@@ -44,50 +60,62 @@ public boolean transfer(StackTransferContext context) {
             return false;
         }
 
-        var adjacentStorage = conversion.getFacade(adjacentHandler);
-
         long remainingTransferAmount = context.getOperationsRemaining()
                 * (long) conversion.getKeyType().getAmountPerOperation();
 
-        var inv = context.getInternalStorage();
+        var inv = context.getInternalStorage().getInventory();
 
-        // Try to find an extractable resource that fits our filter
-        for (int i = 0; i < adjacentStorage.getSlots() && remainingTransferAmount > 0; i++) {
-            var resource = adjacentStorage.getStackInSlot(i);
-            if (resource == null
-                    // Regard a filter that is set on the bus
-                    || context.isInFilter(resource.what()) == context.isInverted()) {
+        // Group the content by key, so that the network only has to be asked once per key instead of once per slot
+        extractable.clear();
+        conversion.getExtractableStacks(adjacentHandler, extractable);
+
+        for (var entry : Object2LongMaps.fastIterable(extractable)) {
+            if (remainingTransferAmount <= 0) {
+                break;
+            }
+
+            var what = entry.getKey();
+            // Regard a filter that is set on the bus
+            if (context.isInFilter(what) == context.isInverted()) {
                 continue;
             }
 
             // Check how much of *this* resource we can actually insert into the network, it might be 0
             // if the cells are partitioned or there's not enough types left, etc.
-            var amountForThisResource = inv.getInventory().insert(resource.what(), remainingTransferAmount,
+            // The previous keys have already been inserted at this point, so the network's capacity is up-to-date.
+            var amountForThisResource = inv.insert(what,
+                    Math.min(entry.getLongValue(), remainingTransferAmount),
                     Actionable.SIMULATE,
                     context.getActionSource());
+            if (amountForThisResource <= 0) {
+                continue;
+            }
 
-            // Try to simulate-extract it
-            var amount = adjacentStorage.extract(resource.what(), amountForThisResource, Actionable.MODULATE,
-                    context.getActionSource());
-            if (amount > 0) {
-                var inserted = inv.getInventory().insert(resource.what(), amount, Actionable.MODULATE,
-                        context.getActionSource());
-
-                if (inserted < amount) {
-                    // Be nice and try to give the overflow back
-                    long leftover = amount - inserted;
-                    leftover -= adjacentStorage.insert(resource.what(), leftover, Actionable.MODULATE,
-                            context.getActionSource());
-                    if (leftover > 0) {
-                        AELog.warn("Extracted %dx%s from adjacent storage and voided it because network refused insert",
-                                leftover, resource.what());
-                    }
-                }
+            // The network doesn't take part in transactions, so the extracted resources are inserted afterwards.
+            long amount;
+            try (var tx = Transaction.openOuter()) {
+                amount = conversion.extract(adjacentHandler, what, amountForThisResource, tx);
+                tx.commit();
+            }
+            if (amount <= 0) {
+                continue;
+            }
+
+            var inserted = inv.insert(what, amount, Actionable.MODULATE, context.getActionSource());
 
-                var opsUsed = Math.max(1, inserted / conversion.getKeyType().getAmountPerOperation());
-                context.reduceOperationsRemaining(opsUsed);
-                remainingTransferAmount -= inserted;
+            if (inserted < amount) {
+                // Be nice and try to give the overflow back
+                long leftover = amount - inserted;
+                leftover -= conversion.insert(adjacentHandler, what, leftover, Actionable.MODULATE);
+                if (leftover > 0) {
+                    AELog.warn("Extracted %dx%s from adjacent storage and voided it because network refused insert",
+                            leftover, what);
+                }
             }
+
+            remainingTransferAmount -= inserted;
+            var opsUsed = Math.max(1, inserted / conversion.getKeyType().getAmountPerOperation());
+            context.reduceOperationsRemaining(opsUsed);
         }
 
         return false;
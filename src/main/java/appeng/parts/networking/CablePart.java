@@ -59,6 +59,12 @@ public void onInWorldConnectionChanged(CablePart nodeOwner, IGridNode node) {
             super.onInWorldConnectionChanged(nodeOwner, node);
             nodeOwner.markForUpdate();
         }
+
+        @Override
+        public boolean isInterestedIn(State state) {
+            // Cables don't render whether the grid is booting
+            return state != State.GRID_BOOT;
+        }
     };
 
     private final int[] channelsOnSide = { 0, 0, 0, 0, 0, 0 };
@@ -18,9 +18,10 @@
 
 package appeng.parts.p2p;
 
-import java.util.Objects;
+import org.jetbrains.annotations.Nullable;
 
 import net.fabricmc.fabric.api.lookup.v1.block.BlockApiLookup;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.level.BlockGetter;
@@ -34,6 +35,13 @@
  * child class!
  */
 public abstract class CapabilityP2PTunnelPart<P extends CapabilityP2PTunnelPart<P, T>, T> extends P2PTunnelPart<P> {
+    /**
+     * Ticks that inputs skip an output without an adjacent capability. Placing a block in front of the output clears
+     * this immediately, so this mostly covers the adjacent chunk not ticking yet.
+     */
+    private static final int ABSENT_BACKOFF_TICKS = 20;
+    private static final int MAX_FULL_BACKOFF_TICKS = 16;
+
     private final PartAdjacentApi<T> adjacentCapability;
     // Prevents recursive block updates.
     private boolean inBlockUpdate = false;
@@ -44,6 +52,16 @@
     protected T inputHandler;
     protected T outputHandler;
     protected T emptyHandler;
+    /**
+     * Inputs skip this output until this tick, see {@link #isOutputBlocked}.
+     */
+    private long blockedUntilTick;
+    /**
+     * The resource this output didn't accept, or null if it had no adjacent capability.
+     */
+    @Nullable
+    private Object blockedResource;
+    private int fullBackoffTicks;
 
     public CapabilityP2PTunnelPart(IPartItem<?> partItem, BlockApiLookup<T, Direction> capability) {
         super(partItem);
@@ -92,7 +110,12 @@ public T get() {
                 throw new IllegalStateException("get was called after closing the wrapper");
             } else if (accessDepth == 1) {
                 if (isActive()) {
-                    return Objects.requireNonNullElse(adjacentCapability.find(), emptyHandler);
+                    var api = adjacentCapability.find();
+                    if (api == null) {
+                        markOutputAbsent();
+                        return emptyHandler;
+                    }
+                    return api;
                 }
 
                 return emptyHandler;
@@ -111,6 +134,70 @@ public void close() {
         }
     }
 
+    /**
+     * Inputs check this before accessing the adjacent capability of an output, so that sending to many outputs doesn't
+     * have to query those that recently had no adjacent capability or didn't accept the same resource.
+     */
+    protected final boolean isOutputBlocked(Object resource) {
+        if (blockedUntilTick == 0) {
+            return false;
+        }
+        if (TickHandler.instance().getCurrentTick() >= blockedUntilTick) {
+            blockedUntilTick = 0;
+            return false;
+        }
+        return blockedResource == null || blockedResource.equals(resource);
+    }
+
+    /**
+     * Records how much of the resource an input sent to this output. Only inserts that end up being committed count,
+     * so simulations don't block the output.
+     */
+    protected final void recordOutputInsert(Object resource, long received, TransactionContext transaction) {
+        transaction.addCloseCallback((tx, result) -> {
+            if (!result.wasCommitted()) {
+                return;
+            }
+
+            if (tx.nestingDepth() > 0) {
+                // The parent transaction can still be aborted
+                recordOutputInsert(resource, received, tx.getOpenTransaction(tx.nestingDepth() - 1));
+            } else if (received > 0) {
+                clearOutputBlocked();
+            } else {
+                markOutputFull(resource);
+            }
+        });
+    }
+
+    /**
+     * Records that this output accepted nothing of the given resource. Inputs skip it for that resource for a few
+     * ticks, longer the more often this happens in a row.
+     */
+    private void markOutputFull(Object resource) {
+        if (resource.equals(blockedResource)) {
+            fullBackoffTicks = Math.min(fullBackoffTicks * 2, MAX_FULL_BACKOFF_TICKS);
+        } else {
+            fullBackoffTicks = 1;
+        }
+        blockedResource = resource;
+        blockedUntilTick = TickHandler.instance().getCurrentTick() + fullBackoffTicks;
+    }
+
+    private void markOutputAbsent() {
+        blockedResource = null;
+        blockedUntilTick = TickHandler.instance().getCurrentTick() + ABSENT_BACKOFF_TICKS;
+    }
+
+    /**
+     * Lets inputs send to this output again, i.e. after it accepted something or its neighbor changed.
+     */
+    private void clearOutputBlocked() {
+        blockedUntilTick = 0;
+        blockedResource = null;
+        fullBackoffTicks = 0;
+    }
+
     /**
      * The position right in front of this P2P tunnel.
      */
@@ -150,6 +237,7 @@ protected void sendBlockUpdate() {
 
     @Override
     public void onTunnelNetworkChange() {
+        clearOutputBlocked();
         // This might be invoked while the network is being unloaded and we don't want to send a block update then, so
         // we delay it until the next tick.
         TickHandler.instance().addCallable(getLevel(), () -> {
@@ -170,6 +258,8 @@ public void onNeighborChanged(BlockGetter level, BlockPos pos, BlockPos neighbor
             return;
         }
 
+        clearOutputBlocked();
+
         // Prevent recursive block updates.
         if (!inBlockUpdate) {
             inBlockUpdate = true;
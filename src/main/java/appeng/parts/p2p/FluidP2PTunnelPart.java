@@ -63,20 +63,45 @@ private class InputFluidHandler implements InsertionOnlyStorage<FluidVariant> {
         @Override
         public long insert(FluidVariant resource, long maxAmount, TransactionContext transaction) {
             var total = 0L;
-            final int outputTunnels = FluidP2PTunnelPart.this.getOutputs().size();
-            if (outputTunnels == 0 || maxAmount == 0) {
+
+            final var outputs = FluidP2PTunnelPart.this.getOutputs();
+            if (outputs.isEmpty() || maxAmount == 0) {
+                return 0L;
+            }
+
+            // Outputs that recently were full or missing don't get a share
+            var outputTunnels = 0;
+            for (FluidP2PTunnelPart target : outputs) {
+                if (!target.isOutputBlocked(resource)) {
+                    outputTunnels++;
+                }
+            }
+            if (outputTunnels == 0) {
                 return 0L;
             }
 
             final var amountPerOutput = maxAmount / outputTunnels;
             var overflow = amountPerOutput == 0 ? maxAmount : maxAmount % amountPerOutput;
 
-            for (FluidP2PTunnelPart target : FluidP2PTunnelPart.this.getOutputs()) {
+            for (FluidP2PTunnelPart target : outputs) {
+                if (target.isOutputBlocked(resource)) {
+                    continue;
+                }
+
+                final var toSend = amountPerOutput + overflow;
+                if (toSend <= 0) {
+                    // Both overflow and amountPerOutput are 0, so they will be for further outputs as well.
+                    break;
+                }
+
                 try (CapabilityGuard capabilityGuard = target.getAdjacentCapability()) {
                     final var output = capabilityGuard.get();
-                    final var toSend = amountPerOutput + overflow;
                     final var received = output.insert(resource, toSend, transaction);
 
+                    if (output != NULL_FLUID_HANDLER) {
+                        target.recordOutputInsert(resource, received, transaction);
+                    }
+
                     overflow = toSend - received;
                     total += received;
                 }
@@ -62,42 +62,59 @@ private class InputItemHandler implements InsertionOnlyStorage<ItemVariant> {
 
         @Override
         public long insert(ItemVariant resource, long maxAmount, TransactionContext transaction) {
-            var remainder = maxAmount;
+            var total = 0L;
 
-            final var outputTunnels = ItemP2PTunnelPart.this.getOutputs().size();
-            if (outputTunnels == 0 || maxAmount == 0) {
+            final var outputs = ItemP2PTunnelPart.this.getOutputs();
+            if (outputs.isEmpty() || maxAmount == 0) {
+                return 0;
+            }
+
+            // Outputs that recently were full or missing don't get a share
+            var outputTunnels = 0;
+            for (ItemP2PTunnelPart target : outputs) {
+                if (!target.isOutputBlocked(resource)) {
+                    outputTunnels++;
+                }
+            }
+            if (outputTunnels == 0) {
                 return 0;
             }
 
             final var amountPerOutput = maxAmount / outputTunnels;
             var overflow = amountPerOutput == 0 ? maxAmount : maxAmount % amountPerOutput;
 
-            for (ItemP2PTunnelPart target : ItemP2PTunnelPart.this.getOutputs()) {
+            for (ItemP2PTunnelPart target : outputs) {
+                if (target.isOutputBlocked(resource)) {
+                    continue;
+                }
+
+                final var toSend = amountPerOutput + overflow;
+                if (toSend <= 0) {
+                    // Both overflow and amountPerOutput are 0, so they will be for further outputs as well.
+                    break;
+                }
+
                 try (CapabilityGuard capabilityGuard = target.getAdjacentCapability()) {
                     final var output = capabilityGuard.get();
-                    final var toSend = amountPerOutput + overflow;
+                    final var received = output.insert(resource, toSend, transaction);
 
-                    if (toSend <= 0) {
-                        // Both overflow and amountPerOutput are 0, so they will be for further outputs as well.
-                        break;
+                    if (output != NULL_ITEM_HANDLER) {
+                        target.recordOutputInsert(resource, received, transaction);
                     }
 
-                    final var received = output.insert(resource, toSend, transaction);
-                    final var sent = toSend - received;
-
-                    overflow = received;
-                    remainder -= sent;
+                    overflow = toSend - received;
+                    total += received;
                 }
             }
 
-            final var finalRemainder = remainder;
+            final var finalTotal = total;
             transaction.addCloseCallback((tx, result) -> {
                 if (result.wasCommitted()) {
-                    deductTransportCost(maxAmount - finalRemainder, AEKeyType.items());
+                    deductTransportCost(finalTotal, AEKeyType.items());
                 }
             });
 
-            return remainder;
+            return total;
         }
     }
 
@@ -85,7 +85,13 @@ public T getInput() {
     }
 
     public List<T> getOutputs() {
-        return getOutputStream().toList();
+        if (this.getMainNode().isOnline()) {
+            var grid = getMainNode().getGrid();
+            if (grid != null) {
+                return P2PService.get(grid).getOutputList(this.getFrequency(), this.getClass());
+            }
+        }
+        return List.of();
     }
 
     public Stream<T> getOutputStream() {
@@ -0,0 +1,169 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.recipes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.crafting.Ingredient;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.level.Level;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+
+/**
+ * Indexes the recipes of a recipe type by a key, i.e. the items that can match one of their ingredients, so that
+ * looking up a recipe only has to test the recipes that could possibly match instead of every recipe of that type.
+ * <p/>
+ * Recipes for which no keys can be determined are kept in a fallback list that is part of every lookup. Candidates are
+ * always returned in the order of the recipe manager, so the first matching candidate is the same recipe a linear
+ * scan would have found.
+ * <p/>
+ * The index is built lazily for every recipe manager it's used with, and rebuilt after data packs or tags have been
+ * reloaded.
+ */
+public final class RecipeIndex<K, R extends Recipe<?>> {
+    /**
+     * Incremented whenever recipes or tags are reloaded, invalidating all indices.
+     */
+    private static volatile int generation;
+
+    private final RecipeType<R> type;
+    private final Function<R, Collection<K>> keyFunction;
+    private final Map<RecipeManager, Snapshot<K, R>> snapshots = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param keyFunction Returns the keys a recipe should be found by. A recipe without keys is never returned, while
+     *                    a recipe for which the function returns null is returned for any key.
+     */
+    public RecipeIndex(RecipeType<R> type, Function<R, Collection<K>> keyFunction) {
+        this.type = type;
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Returns the recipes that could match the given key. The returned list must not be modified.
+     */
+    public List<RecipeHolder<R>> getCandidates(Level level, K key) {
+        return getSnapshot(level.getRecipeManager()).getCandidates(key);
+    }
+
+    @SuppressWarnings("removal")
+    private Snapshot<K, R> getSnapshot(RecipeManager recipeManager) {
+        var currentGeneration = generation;
+        var snapshot = snapshots.get(recipeManager);
+        if (snapshot == null || snapshot.generation != currentGeneration) {
+            snapshot = new Snapshot<>(currentGeneration, recipeManager.byType(type), keyFunction);
+            snapshots.put(recipeManager, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Collects the items that can match any of the given ingredients. Empty ingredients only match empty stacks and
+     * are therefore keyed by {@link Items#AIR}.
+     *
+     * @return Null if one of the ingredients doesn't resolve to any items, in which case the recipe has to be tested
+     *         against every item.
+     */
+    @Nullable
+    public static Collection<Item> getItems(Collection<Ingredient> ingredients) {
+        Set<Item> items = new ReferenceLinkedOpenHashSet<>();
+        for (var ingredient : ingredients) {
+            if (ingredient.isEmpty()) {
+                items.add(Items.AIR);
+                continue;
+            }
+
+            var stacks = ingredient.getItems();
+            if (stacks.length == 0) {
+                return null;
+            }
+            for (var stack : stacks) {
+                items.add(stack.getItem());
+            }
+        }
+        return items;
+    }
+
+    private static final class Snapshot<K, R extends Recipe<?>> {
+        private final int generation;
+        private final Map<K, List<RecipeHolder<R>>> byKey = new Reference2ObjectOpenHashMap<>();
+        private final List<RecipeHolder<R>> fallback = new ArrayList<>();
+
+        Snapshot(int generation, Collection<RecipeHolder<R>> recipes, Function<R, Collection<K>> keyFunction) {
+            this.generation = generation;
+
+            for (var holder : recipes) {
+                var keys = keyFunction.apply(holder.value());
+                if (keys == null) {
+                    fallback.add(holder);
+                    for (var candidates : byKey.values()) {
+                        candidates.add(holder);
+                    }
+                    continue;
+                }
+
+                for (var key : keys) {
+                    var candidates = byKey.get(key);
+                    if (candidates == null) {
+                        // Fallback recipes that came before this one have to be tested first
+                        candidates = new ArrayList<>(fallback);
+                        byKey.put(key, candidates);
+                    }
+                    if (candidates.isEmpty() || candidates.getLast() != holder) {
+                        candidates.add(holder);
+                    }
+                }
+            }
+        }
+
+        List<RecipeHolder<R>> getCandidates(K key) {
+            return byKey.getOrDefault(key, fallback);
+        }
+    }
+
+    static {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> generation++);
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success)
+                generation++;
+        });
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+            // Ingredients resolve their tags when the index is built
+            generation++;
+        });
+    }
+}
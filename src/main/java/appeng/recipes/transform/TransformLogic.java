@@ -19,8 +19,19 @@
 import it.unimi.dsi.fastutil.objects.Reference2IntMap;
 import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 
+import appeng.recipes.RecipeIndex;
+
 @SuppressWarnings("removal")
 public final class TransformLogic {
+    /**
+     * Indexes transform recipes by the items that can trigger them: any ingredient for explosions, since all
+     * ingredients are tested there, and the first ingredient otherwise.
+     */
+    private static final RecipeIndex<Item, TransformRecipe> BY_TRIGGER_ITEM = new RecipeIndex<>(TransformRecipe.TYPE,
+            recipe -> RecipeIndex.getItems(recipe.circumstance.isExplosion() || recipe.ingredients.isEmpty()
+                    ? recipe.ingredients
+                    : List.of(recipe.ingredients.getFirst())));
+
     public static boolean canTransformInFluid(ItemEntity entity, FluidState fluid) {
         return getTransformableItems(entity.level(), fluid.getType()).contains(entity.getItem().getItem());
     }
@@ -41,7 +52,7 @@ public static boolean tryTransform(ItemEntity entity, Predicate<TransformCircums
         List<ItemEntity> itemEntities = level.getEntities(null, region).stream()
                 .filter(e -> e instanceof ItemEntity && !e.isRemoved()).map(e -> (ItemEntity) e).toList();
 
-        for (var holder : level.getRecipeManager().byType(TransformRecipe.TYPE)) {
+        for (var holder : BY_TRIGGER_ITEM.getCandidates(level, entity.getItem().getItem())) {
             var recipe = holder.value();
             if (!circumstancePredicate.test(recipe.circumstance))
                 continue;
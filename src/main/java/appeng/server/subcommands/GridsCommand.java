@@ -42,6 +42,7 @@
 
 import appeng.api.networking.GridHelper;
 import appeng.core.network.clientbound.ExportedGridContent;
+import appeng.crafting.pattern.DecodedPatternCache;
 import appeng.helpers.patternprovider.PatternProviderLogicHost;
 import appeng.hooks.ticking.TickHandler;
 import appeng.me.Grid;
@@ -49,6 +50,7 @@
 import appeng.parts.AEBasePart;
 import appeng.parts.p2p.MEP2PTunnelPart;
 import appeng.server.ISubCommand;
+import appeng.util.JsonStreamUtil;
 import appeng.util.Platform;
 
 public class GridsCommand implements ISubCommand {
@@ -202,6 +204,19 @@ private void exportGrids(Iterable<Grid> grids, OutputStream out) {
                 }
             }
 
+            // The decoded pattern cache is shared by all grids on the server
+            zipOut.putNextEntry(new ZipEntry("pattern_cache.json"));
+            try (var writer = new JsonWriter(
+                    new OutputStreamWriter(CloseShieldOutputStream.wrap(zipOut), StandardCharsets.UTF_8))) {
+                writer.setIndent(" ");
+                writer.beginObject();
+                JsonStreamUtil.writeProperties(Map.of(
+                        "hits", DecodedPatternCache.getHits(),
+                        "misses", DecodedPatternCache.getMisses(),
+                        "size", DecodedPatternCache.size()), writer);
+                writer.endObject();
+            }
+
             zipOut.putNextEntry(new ZipEntry("chunks/"));
             for (var entry : chunksByLevel.entrySet()) {
                 var level = entry.getKey();
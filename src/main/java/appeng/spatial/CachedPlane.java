@@ -19,14 +19,16 @@
 package appeng.spatial;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.server.level.ThreadedLevelLightEngine;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.entity.BlockEntity;
@@ -34,11 +36,13 @@
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.chunk.LevelChunkSection;
-import net.minecraft.world.level.lighting.LevelLightEngine;
+import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraft.world.ticks.LevelChunkTicks;
 import net.minecraft.world.ticks.ScheduledTick;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 
 import appeng.api.ids.AETags;
 import appeng.api.movable.BlockEntityMoveStrategies;
@@ -46,7 +50,6 @@
 import appeng.core.AELog;
 import appeng.core.definitions.AEBlocks;
 import appeng.server.services.compass.ServerCompassService;
-import appeng.util.Platform;
 
 public class CachedPlane {
     private final int x_size;
@@ -178,6 +181,8 @@ void swap(CachedPlane dst) {
 
             long startTime = System.nanoTime();
 
+            var movedSections = this.swapSections(dst);
+
             for (int x = 0; x < this.x_size; x++) {
                 for (int z = 0; z < this.z_size; z++) {
                     final Column srcCol = this.myColumns[x][z];
@@ -187,6 +192,13 @@ void swap(CachedPlane dst) {
                         var src_y = this.y_offset + y;
                         var dst_y = dst.y_offset + y;
 
+                        if (movedSections != null && movedSections[(this.x_offset + x >> 4) - (this.x_offset >> 4)]
+                                [(src_y >> 4) - (this.y_offset >> 4)][(this.z_offset + z >> 4) - (this.z_offset >> 4)]) {
+                            // Moved sections are always fully covered, so we're at the bottom of the section
+                            y += LevelChunkSection.SECTION_HEIGHT - 1;
+                            continue;
+                        }
+
                         if (srcCol.doNotSkip(src_y) && dstCol.doNotSkip(dst_y)) {
                             var srcSection = srcCol.getSection(src_y);
                             var dstSection = dstCol.getSection(dst_y);
@@ -249,6 +261,96 @@ void swap(CachedPlane dst) {
         }
     }
 
+    /**
+     * Swaps the block states of sections that are entirely covered by both planes by exchanging their paletted
+     * containers, instead of copying them block by block. Sections containing blocks that have to be skipped or
+     * replaced are left to the per-block copy.
+     *
+     * @return Which sections of this plane have been swapped, indexed by their chunk section position relative to the
+     *         first section of this plane. Null if the planes aren't aligned to the same section grid.
+     */
+    @Nullable
+    private boolean[][][] swapSections(CachedPlane dst) {
+        if ((this.x_offset - dst.x_offset & 0xF) != 0 || (this.y_offset - dst.y_offset & 0xF) != 0
+                || (this.z_offset - dst.z_offset & 0xF) != 0) {
+            return null;
+        }
+
+        final int minCX = this.x_offset >> 4;
+        final int minCY = this.y_offset >> 4;
+        final int minCZ = this.z_offset >> 4;
+        final int cy_size = (this.y_offset + this.y_size - 1 >> 4) - minCY + 1;
+        var moved = new boolean[this.cx_size][cy_size][this.cz_size];
+        int movedCount = 0;
+
+        // Sections that lie entirely within this plane
+        final int firstCX = this.x_offset + 0xF >> 4;
+        final int firstCY = this.y_offset + 0xF >> 4;
+        final int firstCZ = this.z_offset + 0xF >> 4;
+        final int lastCX = (this.x_offset + this.x_size >> 4) - 1;
+        final int lastCY = (this.y_offset + this.y_size >> 4) - 1;
+        final int lastCZ = (this.z_offset + this.z_size >> 4) - 1;
+
+        for (int cx = firstCX; cx <= lastCX; cx++) {
+            for (int cz = firstCZ; cz <= lastCZ; cz++) {
+                // Both planes index their chunks from their own first chunk
+                var srcChunk = this.myChunks[cx - minCX][cz - minCZ];
+                var dstChunk = dst.myChunks[cx - minCX][cz - minCZ];
+                var srcSections = srcChunk.getSections();
+                var dstSections = dstChunk.getSections();
+
+                for (int cy = firstCY; cy <= lastCY; cy++) {
+                    var dstCY = cy + (dst.y_offset - this.y_offset >> 4);
+                    var srcIndex = srcChunk.getSectionIndexFromSectionY(cy);
+                    var dstIndex = dstChunk.getSectionIndexFromSectionY(dstCY);
+
+                    int x = (cx << 4) - this.x_offset;
+                    int y = (cy << 4) - this.y_offset;
+                    int z = (cz << 4) - this.z_offset;
+                    if (!this.canMoveSection(srcSections[srcIndex], x, y, z)
+                            || !dst.canMoveSection(dstSections[dstIndex], x, y, z)) {
+                        continue;
+                    }
+
+                    // Biomes stay where they are, just like they do for the per-block copy
+                    var srcSection = srcSections[srcIndex];
+                    var dstSection = dstSections[dstIndex];
+                    srcSections[srcIndex] = new LevelChunkSection(dstSection.getStates(), srcSection.getBiomes());
+                    dstSections[dstIndex] = new LevelChunkSection(srcSection.getStates(), dstSection.getBiomes());
+
+                    moved[cx - minCX][cy - minCY][cz - minCZ] = true;
+                    movedCount++;
+                }
+            }
+        }
+
+        AELog.info("Moved Sections: " + movedCount);
+        return moved;
+    }
+
+    /**
+     * Checks that a section can be moved as a whole, i.e. that none of its blocks would be skipped or replaced by the
+     * per-block copy.
+     * The coordinates of the section's first block are given relative to this plane.
+     */
+    private boolean canMoveSection(LevelChunkSection section, int x, int y, int z) {
+        if (section.getStates().maybeHas(state -> state == this.matrixBlockState
+                || state.is(AETags.SPATIAL_BLACKLIST))) {
+            return false;
+        }
+
+        int minY = this.y_offset + y;
+        int maxY = minY + LevelChunkSection.SECTION_HEIGHT - 1;
+        for (int i = 0; i < LevelChunkSection.SECTION_WIDTH; i++) {
+            for (int j = 0; j < LevelChunkSection.SECTION_WIDTH; j++) {
+                if (this.myColumns[x + i][z + j].hasSkips(minY, maxY)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     private void markForUpdate(int x, int y, int z) {
         this.updates.add(new BlockPos(x, y, z));
         for (Direction d : Direction.values()) {
@@ -322,36 +424,28 @@ private void attemptRecovery(int x, int y, int z, BlockEntityMoveRecord moveReco
     }
 
     private void updateChunks() {
-
-        LevelLightEngine lightManager = level.getLightEngine();
-
-        // update shit..
-        if (lightManager instanceof ThreadedLevelLightEngine serverLightManager) {
-            for (int x = 0; x < this.cx_size; x++) {
-                for (int z = 0; z < this.cz_size; z++) {
-                    final LevelChunk c = this.myChunks[x][z];
-                    serverLightManager.lightChunk(c, false);
-                    c.setUnsaved(true);
-                }
-            }
-        }
-
-        // send shit...
         for (int x = 0; x < this.cx_size; x++) {
             for (int z = 0; z < this.cz_size; z++) {
-
                 final LevelChunk c = this.myChunks[x][z];
+                c.setUnsaved(true);
+
+                // Blocks were changed in the sections directly, bypassing the heightmap updates of the chunk
+                var heightmapTypes = EnumSet.noneOf(Heightmap.Types.class);
+                for (var heightmap : c.getHeightmaps()) {
+                    heightmapTypes.add(heightmap.getKey());
+                }
+                Heightmap.primeHeightmaps(c, heightmapTypes);
+                c.initializeLightSources();
+
+                // Relight the chunk when it's loaded again if it's saved before the relight completed
+                c.setLightCorrect(false);
 
                 ServerCompassService.updateArea(this.getLevel(), c);
 
-                var cdp = Platform.getFullChunkPacket(c);
-                level.getChunkSource().chunkMap.getPlayers(c.getPos(), false)
-                        .forEach(spe -> spe.connection.send(cdp));
+                // Relighting and sending the chunk to players is spread over the following ticks
+                SpatialChunkUpdates.queue(this.level, c);
             }
         }
-
-        // FIXME check if this makes any sense at all to send changes to players asap
-        level.getChunkSource().tick(() -> false, false);
     }
 
     List<BlockPos> getUpdates() {
@@ -371,7 +465,7 @@ private static class Column {
         private final int z;
 
         private final LevelChunk c;
-        private List<Integer> skipThese = null;
+        private IntSet skipThese = null;
         private Int2ObjectMap<BlockState> savedBlockStates = null;
 
         public Column(LevelChunk chunk, int x, int z) {
@@ -389,9 +483,21 @@ private boolean doNotSkip(int y) {
             return this.skipThese == null || !this.skipThese.contains(y);
         }
 
+        private boolean hasSkips(int minY, int maxY) {
+            if (this.skipThese != null) {
+                for (var it = this.skipThese.iterator(); it.hasNext();) {
+                    int y = it.nextInt();
+                    if (y >= minY && y <= maxY) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
         private void setSkip(int y) {
             if (this.skipThese == null) {
-                this.skipThese = new ArrayList<>();
+                this.skipThese = new IntOpenHashSet();
             }
             this.skipThese.add(y);
         }
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.spatial;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ThreadedLevelLightEngine;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+import appeng.util.Platform;
+
+/**
+ * Relights the chunks changed by a spatial transfer and sends them to the players tracking them over the following
+ * ticks, instead of doing so for every chunk of both regions in the tick of the transfer.
+ * <p/>
+ * The blocks themselves are swapped in a single tick, so that no one can interact with a partially moved region. Only
+ * updating the clients is spread out: relighting happens on the thread of the light engine, and a chunk is sent once
+ * its light has been recalculated. Building the chunk packets is limited to a time budget per tick.
+ */
+public final class SpatialChunkUpdates {
+    private static final long TIME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Chunks for which no relight has been requested yet.
+     */
+    private static final Queue<PendingChunk> toRelight = new ArrayDeque<>();
+    /**
+     * Chunks that are sent once their relight has completed, in the order of the requests.
+     */
+    private static final Queue<PendingChunk> toSend = new ArrayDeque<>();
+
+    private SpatialChunkUpdates() {
+    }
+
+    static void queue(ServerLevel level, LevelChunk chunk) {
+        Platform.assertServerThread();
+        toRelight.add(new PendingChunk(level, chunk.getPos()));
+    }
+
+    /**
+     * Called at the end of every server tick.
+     */
+    public static void onServerTick() {
+        if (toRelight.isEmpty() && toSend.isEmpty()) {
+            return;
+        }
+
+        var deadline = System.nanoTime() + TIME_BUDGET_NANOS;
+
+        // Requesting a relight is cheap, the light engine does the actual work on its own thread
+        PendingChunk pending;
+        while ((pending = toRelight.poll()) != null) {
+            var chunk = pending.getChunk();
+            if (chunk == null) {
+                continue;
+            }
+            if (pending.level.getLightEngine() instanceof ThreadedLevelLightEngine lightEngine) {
+                pending.relight = lightEngine.lightChunk(chunk, false);
+            } else {
+                pending.relight = CompletableFuture.completedFuture(chunk);
+            }
+            toSend.add(pending);
+        }
+
+        while ((pending = toSend.peek()) != null && pending.relight.isDone()) {
+            toSend.poll();
+
+            var chunk = pending.getChunk();
+            if (chunk != null) {
+                var players = pending.level.getChunkSource().chunkMap.getPlayers(pending.pos, false);
+                if (!players.isEmpty()) {
+                    var packet = Platform.getFullChunkPacket(chunk);
+                    players.forEach(player -> player.connection.send(packet));
+                }
+            }
+
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Discards the updates of a level that is being unloaded.
+     */
+    public static void onUnloadLevel(ServerLevel level) {
+        removeLevel(toRelight.iterator(), level);
+        removeLevel(toSend.iterator(), level);
+    }
+
+    private static void removeLevel(Iterator<PendingChunk> it, ServerLevel level) {
+        while (it.hasNext()) {
+            if (it.next().level == level) {
+                it.remove();
+            }
+        }
+    }
+
+    public static void clear() {
+        toRelight.clear();
+        toSend.clear();
+    }
+
+    private static final class PendingChunk {
+        private final ServerLevel level;
+        private final ChunkPos pos;
+        private CompletableFuture<?> relight;
+
+        private PendingChunk(ServerLevel level, ChunkPos pos) {
+            this.level = level;
+            this.pos = pos;
+        }
+
+        /**
+         * @return Null if the chunk has been unloaded in the meantime. It was saved with its light marked as
+         *         incorrect, so it will be relit and sent in full when it's loaded again.
+         */
+        @Nullable
+        private LevelChunk getChunk() {
+            return level.getChunkSource().getChunkNow(pos.x, pos.z);
+        }
+    }
+}
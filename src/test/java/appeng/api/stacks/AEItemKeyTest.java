@@ -138,6 +138,23 @@ void testFuzzyEqualsDifferentItems() {
         assertFalse(AEItemKey.of(Items.DIAMOND).fuzzyEquals(AEItemKey.of(Items.DIAMOND_PICKAXE), FuzzyMode.IGNORE_ALL));
     }
 
+    @Test
+    void testEqualKeysAreInterned() {
+        var stack = new ItemStack(Items.DIAMOND_SWORD, 1);
+        setDamageFromPercentage(stack, 50);
+        var key = AEItemKey.of(stack);
+
+        // Equal stacks resolve to the same key, even with a different count
+        var otherStack = stack.copyWithCount(5);
+        assertSame(key, AEItemKey.of(otherStack));
+        assertEquals(1, key.getReadOnlyStack().getCount());
+
+        // Mutating the stack the key was created from doesn't affect the key
+        setDamageFromPercentage(stack, 10);
+        assertNotSame(key, AEItemKey.of(stack));
+        assertSame(key, AEItemKey.of(otherStack));
+    }
+
     // TODO MC Server is not available in the test environment
     @Disabled
     @Test
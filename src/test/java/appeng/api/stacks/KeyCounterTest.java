@@ -242,6 +242,25 @@ public void testPercent25WithDamagedFilter() {
             assertReturnedDurabilities(damagedFilter, FuzzyMode.PERCENT_25, 0, 24);
         }
 
+        @Test
+        public void testSteppingMatchesFindFuzzy() {
+            for (var fuzzyMode : FuzzyMode.values()) {
+                var expected = itemList.findFuzzy(damagedFilter, fuzzyMode).stream()
+                        .map(Map.Entry::getKey)
+                        .toList();
+                assertThat(stepFuzzy(damagedFilter, fuzzyMode)).containsExactlyElementsOf(expected);
+            }
+        }
+
+        @Test
+        public void testSteppingResumesAfterRemovedVariant() {
+            itemList.remove(swords[50]);
+            var next = itemList.findFuzzyFrom(undamagedFilter, FuzzyMode.IGNORE_ALL, swords[50]);
+            assertSame(itemList.findFuzzyAfter(undamagedFilter, FuzzyMode.IGNORE_ALL, swords[50]), next);
+            assertNotNull(next);
+            assertNotEquals(swords[50], next);
+        }
+
         private void assertReturnedDurabilities(AEItemKey filter, FuzzyMode fuzzyMode, int minDurabilityInclusive,
                 int maxDurabilityInclusive) {
             var items = itemList.findFuzzy(filter, fuzzyMode);
@@ -292,6 +311,54 @@ void testFindFuzzyForNormalItems() {
         }
     }
 
+    @Test
+    void testStepFuzzyForNormalItems() {
+        var item1 = nameTag(null);
+        itemList.add(item1, 1);
+        var item2 = nameTag("name1");
+        itemList.add(item2, 1);
+        itemList.add(AEItemKey.of(new ItemStack(Items.CRAFTING_TABLE)), 1);
+
+        assertThat(stepFuzzy(nameTag(null), FuzzyMode.IGNORE_ALL)).containsOnly(item1, item2);
+        // Resuming from a variant starts with that variant
+        var second = itemList.findFuzzyAfter(item1, FuzzyMode.IGNORE_ALL, itemList.findFuzzyFrom(item1,
+                FuzzyMode.IGNORE_ALL, null));
+        assertSame(second, itemList.findFuzzyFrom(item1, FuzzyMode.IGNORE_ALL, second));
+    }
+
+    private List<AEKey> stepFuzzy(AEKey filter, FuzzyMode fuzzyMode) {
+        var result = new ArrayList<AEKey>();
+        for (var what = itemList.findFuzzyFrom(filter, fuzzyMode, null); what != null; what = itemList
+                .findFuzzyAfter(filter, fuzzyMode, what)) {
+            result.add(what);
+        }
+        return result;
+    }
+
+    @Test
+    void testRemoveKeepsOtherVariantsFindable() {
+        var item1 = nameTag(null);
+        var item2 = nameTag("name1");
+        var item3 = nameTag("name2");
+        var craftingTable = AEItemKey.of(new ItemStack(Items.CRAFTING_TABLE));
+        itemList.add(item1, 1);
+        itemList.add(craftingTable, 4);
+        itemList.add(item2, 2);
+        itemList.add(item3, 3);
+
+        assertEquals(1, itemList.remove(item1));
+        itemList.set(craftingTable, 0);
+        itemList.removeZeros();
+
+        assertListContent(item2, item3);
+        assertEquals(2, itemList.get(item2));
+        assertEquals(3, itemList.get(item3));
+        assertThat(itemList.findFuzzy(item1, FuzzyMode.IGNORE_ALL))
+                .extracting(Map.Entry::getKey)
+                .containsOnly(item2, item3);
+        assertThat(itemList.findFuzzy(craftingTable, FuzzyMode.IGNORE_ALL)).isEmpty();
+    }
+
     /**
      * Unlike previous iterations of item lists in AE, KeyCounter will throw on null arguments.
      */
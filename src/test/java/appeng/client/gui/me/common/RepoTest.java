@@ -0,0 +1,123 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.client.gui.me.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Items;
+
+import appeng.api.config.SortDir;
+import appeng.api.config.SortOrder;
+import appeng.api.config.ViewItems;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKeyType;
+import appeng.client.gui.widgets.IScrollSource;
+import appeng.client.gui.widgets.ISortSource;
+import appeng.menu.me.common.GridInventoryEntry;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class RepoTest {
+    private static Repo createRepo(ViewItems viewMode, SortOrder sortOrder, SortDir sortDir) {
+        var sortSource = mock(ISortSource.class);
+        when(sortSource.getSortBy()).thenReturn(sortOrder);
+        when(sortSource.getSortDir()).thenReturn(sortDir);
+        when(sortSource.getSortDisplay()).thenReturn(viewMode);
+        when(sortSource.getSortKeyTypes()).thenAnswer(invocation -> new HashSet<>(List.of(AEKeyType.items())));
+        var repo = new Repo(mock(IScrollSource.class), sortSource);
+        repo.setRowSize(9);
+        return repo;
+    }
+
+    private static List<GridInventoryEntry> getView(Repo repo) {
+        var view = new ArrayList<GridInventoryEntry>();
+        for (int i = 0; i < repo.size(); i++) {
+            view.add(repo.get(i));
+        }
+        return view;
+    }
+
+    /**
+     * Applying many small updates to the sorted view has to result in the same view as building it from scratch, for
+     * every sort order.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "AMOUNT, DESCENDING", "AMOUNT, ASCENDING",
+            "NAME, DESCENDING", "NAME, ASCENDING",
+            "MOD, DESCENDING", "MOD, ASCENDING"
+    })
+    void testIncrementalUpdatesMatchFullRebuild(SortOrder sortOrder, SortDir sortDir) {
+        var items = BuiltInRegistries.ITEM.stream()
+                .filter(item -> item != Items.AIR)
+                .limit(200)
+                .map(AEItemKey::of)
+                .toList();
+
+        var random = new Random(1234);
+        var repo = createRepo(ViewItems.STORED, sortOrder, sortDir);
+        var amounts = new long[items.size()];
+        var initialEntries = new ArrayList<GridInventoryEntry>();
+        for (int i = 0; i < items.size(); i++) {
+            amounts[i] = random.nextInt(10);
+            initialEntries.add(new GridInventoryEntry(i, items.get(i), amounts[i], 0, false));
+        }
+        repo.handleUpdate(true, initialEntries);
+
+        for (int update = 0; update < 50; update++) {
+            // Alternate between small updates and updates that are merged into the view
+            var changeCount = update % 2 == 0 ? 1 + random.nextInt(5) : 40 + random.nextInt(60);
+            var changed = new HashSet<Integer>();
+            var changes = new ArrayList<GridInventoryEntry>();
+            for (int j = 0; j < changeCount; j++) {
+                var i = random.nextInt(items.size());
+                if (!changed.add(i)) {
+                    continue;
+                }
+                // Entries without an amount are removed, and have to be sent in full when they reappear
+                var what = amounts[i] == 0 ? items.get(i) : null;
+                amounts[i] = random.nextInt(10);
+                changes.add(new GridInventoryEntry(i, what, amounts[i], 0, false));
+            }
+            repo.handleUpdate(false, changes);
+
+            var expected = createRepo(ViewItems.STORED, sortOrder, sortDir);
+            var expectedEntries = new ArrayList<GridInventoryEntry>();
+            for (int i = 0; i < items.size(); i++) {
+                expectedEntries.add(new GridInventoryEntry(i, items.get(i), amounts[i], 0, false));
+            }
+            expected.handleUpdate(true, expectedEntries);
+
+            assertThat(getView(repo))
+                    .extracting(GridInventoryEntry::getSerial)
+                    .containsExactlyElementsOf(getView(expected).stream().map(GridInventoryEntry::getSerial).toList());
+        }
+    }
+}
@@ -1,20 +1,32 @@
 package appeng.crafting.simulation;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.material.Fluid;
 import net.minecraft.world.level.material.Fluids;
 
 import appeng.api.crafting.IPatternDetails;
+import appeng.api.crafting.PatternDetailsHelper;
 import appeng.api.networking.crafting.CalculationStrategy;
 import appeng.api.networking.crafting.ICraftingPlan;
 import appeng.api.stacks.AEFluidKey;
@@ -23,6 +35,7 @@
 import appeng.api.stacks.KeyCounter;
 import appeng.core.AELog;
 import appeng.crafting.inv.CraftingSimulationState;
+import appeng.crafting.pattern.AEProcessingPattern;
 import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
 import appeng.crafting.simulation.helpers.SimulationEnv;
 import appeng.util.BootstrapMinecraft;
@@ -307,6 +320,39 @@ public void testMultiplePaths() {
                 .usedMatch(mult(input1, 5), mult(input2, 3));
     }
 
+    /**
+     * Multiple paths with a large amount and a deep tree. This used to be crafted one by one, and would exceed the
+     * timeout of the simulation.
+     */
+    @Test
+    public void testMultiplePathsLargeAmount() {
+        var env = new SimulationEnv();
+
+        var input1 = item(Items.COBBLESTONE);
+        var input2 = item(Items.OAK_PLANKS);
+        var intermediate1 = item(Items.STONE);
+        var intermediate2 = item(Items.SMOOTH_STONE);
+        var output = item(Items.DIAMOND);
+
+        var pattern1 = env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(1, intermediate2).build());
+        var pattern2 = env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(1, input2).build());
+        var intermediatePattern1 = env
+                .addPattern(new ProcessingPatternBuilder(intermediate1).addPreciseInput(1, input1).build());
+        var intermediatePattern2 = env
+                .addPattern(new ProcessingPatternBuilder(intermediate2).addPreciseInput(1, intermediate1).build());
+
+        env.addStoredItem(input1.what(), 600_000);
+        env.addStoredItem(input2.what(), 400_000);
+
+        var plan = env.runSimulation(mult(output, 1_000_000), CalculationStrategy.REPORT_MISSING_ITEMS);
+        assertThatPlan(plan)
+                .succeeded()
+                .patternsMatch(Map.of(pattern1, 600_000L, pattern2, 400_000L, intermediatePattern1, 600_000L,
+                        intermediatePattern2, 600_000L))
+                .missingMatch()
+                .usedMatch(mult(input1, 600_000), mult(input2, 400_000));
+    }
+
     /**
      * Basic test for {@link CalculationStrategy#CRAFT_LESS}.
      */
@@ -397,6 +443,49 @@ public void testAlternativeSubCraft() {
                 .emittedMatch(mult(secondaryInputSource, 10));
     }
 
+    /**
+     * Test that the inputs of our own processing patterns are tested on the calculation's thread, instead of waiting
+     * for the server thread to test them.
+     */
+    @Test
+    public void testProcessingPatternInputsAreTestedOffThread() throws Exception {
+        var env = new SimulationEnv();
+
+        var a = item(Items.COBBLESTONE);
+        var b = item(Items.STONE);
+        var c = item(Items.IRON_INGOT);
+
+        var aToB = env.addPattern(processingPattern(b, a));
+        var bToC = env.addPattern(processingPattern(c, b));
+        env.addStoredItem(mult(a, 2));
+        env.addStoredItem(b);
+
+        var server = mock(MinecraftServer.class);
+        when(server.isSameThread()).thenReturn(false);
+        when(server.isRunning()).thenReturn(true);
+        var level = mock(Level.class);
+        when(level.getServer()).thenReturn(server);
+
+        var calculation = env.createCalculation(level, mult(c, 3), CalculationStrategy.REPORT_MISSING_ITEMS);
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var plan = executor.submit(calculation::run).get(1000, TimeUnit.MILLISECONDS);
+            assertThatPlan(plan)
+                    .succeeded()
+                    .patternsMatch(aToB, 2, bToC, 3)
+                    .usedMatch(mult(a, 2), b);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(server, never()).submit(any(Supplier.class));
+    }
+
+    private static IPatternDetails processingPattern(GenericStack output, GenericStack input) {
+        var encoded = PatternDetailsHelper.encodeProcessingPattern(List.of(input), List.of(output));
+        return new AEProcessingPattern(Objects.requireNonNull(AEItemKey.of(encoded)));
+    }
+
     private static GenericStack item(Item item) {
         return GenericStack.fromItemStack(new ItemStack(item));
     }
@@ -77,16 +77,29 @@ public SimulationEnv copy() {
     }
 
     public ICraftingPlan runSimulation(GenericStack what, CalculationStrategy strategy) {
-        var calculation = new CraftingCalculation(mock(Level.class), gridMock, simulationRequester, what, strategy);
+        var calculation = createCalculation(what, strategy);
         try {
             var calculationFuture = Executors.newSingleThreadExecutor().submit(calculation::run);
-            calculation.simulateFor(1000000000);
             return calculationFuture.get(1000, TimeUnit.MILLISECONDS);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Creates a calculation against this environment without running it.
+     */
+    public CraftingCalculation createCalculation(GenericStack what, CalculationStrategy strategy) {
+        return createCalculation(mock(Level.class), what, strategy);
+    }
+
+    /**
+     * Creates a calculation against this environment in the given level without running it.
+     */
+    public CraftingCalculation createCalculation(Level level, GenericStack what, CalculationStrategy strategy) {
+        return new CraftingCalculation(level, gridMock, simulationRequester, what, strategy);
+    }
+
     private final IGrid gridMock = createGridMock();
     private final IGridNode nodeMock = createNodeMock();
     private final ICraftingSimulationRequester simulationRequester = new ICraftingSimulationRequester() {
@@ -1,6 +1,8 @@
 package appeng.me;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 
 import java.util.Set;
 
@@ -41,6 +43,7 @@ public abstract class AbstractGridNodeTest {
     @BeforeEach
     public void setupMocks() {
         platform.when(Platform::isServer).thenReturn(true);
+        when(listener.isInterestedIn(any())).thenReturn(true);
     }
 
     protected GridNode makeNode(GridFlags... flags) {
@@ -200,4 +200,69 @@ private void assertSameGrid(IGridNode a, IGridNode b) {
         }
     }
 
+    /**
+     * Tests how grids are split when removing connections.
+     */
+    @Nested
+    class GridSplitting {
+        @Test
+        void testRemovingConnectionOfLoopKeepsGrid() {
+            var a = makeReadyNode();
+            var b = makeReadyNode();
+            var c = makeReadyNode();
+            GridHelper.createConnection(a, b);
+            GridHelper.createConnection(b, c);
+            var con = GridHelper.createConnection(c, a);
+            var grid = a.getGrid();
+
+            con.destroy();
+            assertSame(grid, a.getGrid());
+            assertSame(grid, b.getGrid());
+            assertSame(grid, c.getGrid());
+        }
+
+        /**
+         * When there's <code>a-b-c-d</code>, removing the connection between c and d moves only d to a new grid.
+         */
+        @Test
+        void testSmallerPartIsMovedToNewGrid() {
+            var a = makeReadyNode();
+            var b = makeReadyNode();
+            var c = makeReadyNode();
+            var d = makeReadyNode();
+            GridHelper.createConnection(a, b);
+            GridHelper.createConnection(b, c);
+            var con = GridHelper.createConnection(c, d);
+            var grid = a.getGrid();
+
+            con.destroy();
+            assertSame(grid, a.getGrid());
+            assertSame(grid, b.getGrid());
+            assertSame(grid, c.getGrid());
+            assertNotSame(grid, d.getGrid());
+            assertEquals(3, grid.size());
+            assertEquals(1, d.getGrid().size());
+        }
+
+        /**
+         * If the pivot of the grid is split off, it has to be replaced by one of the nodes that keep the grid.
+         */
+        @Test
+        void testPivotStaysWithGrid() {
+            var a = makeReadyNode();
+            var b = makeReadyNode();
+            var c = makeReadyNode();
+            var con = GridHelper.createConnection(a, b);
+            GridHelper.createConnection(b, c);
+            var grid = a.getGrid();
+            assertSame(a, grid.getPivot());
+
+            con.destroy();
+            assertNotSame(grid, a.getGrid());
+            assertSame(grid, b.getGrid());
+            assertSame(grid, c.getGrid());
+            assertThat(grid.getPivot()).isIn(b, c);
+        }
+    }
+
 }
@@ -1,14 +1,23 @@
 package appeng.me;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
+import appeng.api.networking.GridHelper;
 import appeng.api.networking.IGridNodeListener;
 import appeng.me.service.PathingService;
 
@@ -33,4 +42,27 @@ public void rebootNotificationIsPostedAfterGridBeginsBooting() {
         assertThat(calls).containsExactly(false, true);
     }
 
+    /**
+     * Nodes whose listener isn't interested in the grid booting are skipped when the grid notifies its nodes.
+     */
+    @Test
+    public void bootNotificationSkipsUninterestedNodes() {
+        var node = makePoweredNode();
+        IGridNodeListener<Object> uninterestedListener = mock();
+        when(uninterestedListener.isInterestedIn(any())).thenReturn(true);
+        when(uninterestedListener.isInterestedIn(IGridNodeListener.State.GRID_BOOT)).thenReturn(false);
+        var uninterestedNode = new GridNode(level, owner, uninterestedListener, Set.of());
+        uninterestedNode.markReady();
+        GridHelper.createConnection(node, uninterestedNode);
+        assertSame(node.getGrid(), uninterestedNode.getGrid());
+
+        var pathingService = (PathingService) node.getGrid().getPathingService();
+        pathingService.repath();
+        runTick(node.getGrid());
+
+        verify(listener, atLeastOnce()).onStateChanged(owner, node, IGridNodeListener.State.GRID_BOOT);
+        verify(uninterestedListener, never()).onStateChanged(owner, uninterestedNode,
+                IGridNodeListener.State.GRID_BOOT);
+    }
+
 }
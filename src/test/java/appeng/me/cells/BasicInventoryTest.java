@@ -13,10 +13,12 @@
 import net.minecraft.world.level.material.Fluids;
 
 import appeng.api.config.Actionable;
+import appeng.api.ids.AEComponents;
 import appeng.api.networking.security.IActionSource;
 import appeng.api.stacks.AEFluidKey;
 import appeng.api.stacks.AEItemKey;
 import appeng.api.stacks.AEKeyType;
+import appeng.api.stacks.GenericStack;
 import appeng.api.storage.StorageCells;
 import appeng.api.storage.cells.CellState;
 import appeng.core.definitions.AEItems;
@@ -110,6 +112,36 @@ void testEvenDistribution() {
         assertThat(cell.getStatus()).isEqualTo(CellState.FULL);
     }
 
+    @Test
+    void testPersistReusesUnchangedStacks() {
+        var item = AEItems.ITEM_CELL_1K.get();
+        var stack = new ItemStack(item);
+        var cell = BasicCellInventory.createInventory(stack, null);
+        Objects.requireNonNull(cell);
+
+        var diamond = AEItemKey.of(Items.DIAMOND);
+        var stick = AEItemKey.of(Items.STICK);
+        cell.insert(diamond, 10, Actionable.MODULATE, SRC);
+        cell.insert(stick, 5, Actionable.MODULATE, SRC);
+        var diamondStack = stack.get(AEComponents.STORAGE_CELL_INV).get(0);
+
+        cell.extract(stick, 2, Actionable.MODULATE, SRC);
+        var stacks = stack.get(AEComponents.STORAGE_CELL_INV);
+        assertThat(stacks).containsExactly(diamondStack, new GenericStack(stick, 3));
+        assertThat(stacks.get(0)).isSameAs(diamondStack);
+
+        cell.extract(stick, 3, Actionable.MODULATE, SRC);
+        assertThat(stack.get(AEComponents.STORAGE_CELL_INV)).containsExactly(diamondStack);
+        assertThat(cell.getStoredItemTypes()).isEqualTo(1);
+        assertThat(cell.getStoredItemCount()).isEqualTo(10);
+
+        // A fresh inventory for the same stack sees the same totals
+        var reloaded = BasicCellInventory.createInventory(stack, null);
+        Objects.requireNonNull(reloaded);
+        assertThat(reloaded.getStoredItemTypes()).isEqualTo(1);
+        assertThat(reloaded.getStoredItemCount()).isEqualTo(10);
+    }
+
     @Test
     void testVoidUpgrade() {
         var item = AEItems.ITEM_CELL_1K.get();
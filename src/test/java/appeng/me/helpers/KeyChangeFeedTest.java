@@ -0,0 +1,70 @@
+package appeng.me.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.world.item.Items;
+
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKey;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class KeyChangeFeedTest {
+    private static List<AEKey> poll(KeyChangeFeed.Subscription subscription) {
+        var result = new ArrayList<AEKey>();
+        assertThat(subscription.poll(result::add)).isTrue();
+        return result;
+    }
+
+    @Test
+    void testSubscribersReceiveChangesIndependently() {
+        var stick = AEItemKey.of(Items.STICK);
+        var stone = AEItemKey.of(Items.STONE);
+        var feed = new KeyChangeFeed();
+
+        // Nothing is recorded without subscribers
+        feed.publish(stick);
+        var first = feed.subscribe();
+        assertThat(poll(first)).isEmpty();
+
+        feed.publish(stick);
+        var second = feed.subscribe();
+        feed.publish(stone);
+
+        assertThat(poll(first)).containsExactly(stick, stone);
+        assertThat(poll(first)).isEmpty();
+        assertThat(poll(second)).containsExactly(stone);
+
+        second.close();
+        assertThat(feed.hasSubscribers()).isTrue();
+        first.close();
+        assertThat(feed.hasSubscribers()).isFalse();
+    }
+
+    @Test
+    void testLaggingSubscriberHasToResync() {
+        var stick = AEItemKey.of(Items.STICK);
+        var feed = new KeyChangeFeed();
+        var lagging = feed.subscribe();
+        var active = feed.subscribe();
+
+        for (int i = 0; i < 100_000; i++) {
+            feed.publish(stick);
+            if (i % 100 == 0) {
+                assertThat(active.poll(key -> {
+                })).isTrue();
+            }
+        }
+
+        assertThat(lagging.poll(key -> {
+        })).isFalse();
+        // Resynchronized subscriptions continue to receive changes
+        feed.publish(stick);
+        assertThat(poll(lagging)).containsExactly(stick);
+    }
+}
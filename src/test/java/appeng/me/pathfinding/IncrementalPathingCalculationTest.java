@@ -0,0 +1,123 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.me.pathfinding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import appeng.api.networking.GridFlags;
+import appeng.blockentity.networking.ControllerBlockEntity;
+import appeng.me.AbstractGridNodeTest;
+import appeng.me.GridConnection;
+import appeng.me.GridNode;
+
+class IncrementalPathingCalculationTest extends AbstractGridNodeTest {
+    /**
+     * Connects two nodes, with the parent as side A or side B of the connection.
+     */
+    private static GridConnection connect(GridNode parent, GridNode child, boolean parentIsSideB) {
+        return parentIsSideB ? GridConnection.create(child, parent, null) : GridConnection.create(parent, child, null);
+    }
+
+    private GridNode makeController() {
+        return new GridNode(level, mock(ControllerBlockEntity.class), listener,
+                Set.of(GridFlags.CANNOT_CARRY, GridFlags.DENSE_CAPACITY));
+    }
+
+    private static void fullRepath(GridNode controller) {
+        var calculation = new PathingCalculation(controller.getGrid());
+        calculation.compute();
+        controller.beginVisit(new ChannelFinalizer());
+    }
+
+    /**
+     * Removes the given node, and returns the incremental calculation for the removal.
+     */
+    private static IncrementalPathingCalculation remove(GridNode controller, GridNode node, boolean expectSuccess) {
+        var removedConnections = new HashSet<GridConnection>();
+        for (var connection : node.getConnections()) {
+            removedConnections.add((GridConnection) connection);
+        }
+        node.destroy();
+
+        var calculation = new IncrementalPathingCalculation(controller.getGrid());
+        assertThat(calculation.removeNodes(Set.of(node), removedConnections, false)).isEqualTo(expectSuccess);
+        return calculation;
+    }
+
+    /**
+     * Removing a device gives its channel back along the route of the cable it was attached to, regardless of the side
+     * its connection was created from.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void testRemovingLeafMatchesFullRepath(boolean parentIsSideB) {
+        var controller = makeController();
+        var cable = makeNode(GridFlags.PREFERRED);
+        var devices = List.of(makeNode(GridFlags.REQUIRE_CHANNEL), makeNode(GridFlags.REQUIRE_CHANNEL),
+                makeNode(GridFlags.REQUIRE_CHANNEL));
+        connect(controller, cable, parentIsSideB);
+        for (var device : devices) {
+            connect(cable, device, parentIsSideB);
+        }
+        fullRepath(controller);
+        assertThat(cable.getUsedChannels()).isEqualTo(3);
+
+        var calculation = remove(controller, devices.get(1), true);
+        calculation.finalizeChannels();
+        assertThat(calculation.getChannelsInUseDelta()).isEqualTo(-1);
+        assertThat(cable.getUsedChannels()).isEqualTo(2);
+
+        fullRepath(controller);
+        assertThat(cable.getUsedChannels()).isEqualTo(2);
+        assertThat(devices.get(0).getUsedChannels()).isEqualTo(1);
+        assertThat(devices.get(2).getUsedChannels()).isEqualTo(1);
+    }
+
+    /**
+     * Removing a cable that a remaining device was routed through can't be handled incrementally, even though the device
+     * is still connected to the grid through another cable.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void testRemovingRouteOfRemainingNodeFallsBack(boolean parentIsSideB) {
+        var controller = makeController();
+        var shortRoute = makeNode(GridFlags.PREFERRED);
+        var longRoute1 = makeNode(GridFlags.PREFERRED);
+        var longRoute2 = makeNode(GridFlags.PREFERRED);
+        var device = makeNode(GridFlags.REQUIRE_CHANNEL);
+        connect(controller, shortRoute, parentIsSideB);
+        connect(shortRoute, device, parentIsSideB);
+        connect(controller, longRoute1, parentIsSideB);
+        connect(longRoute1, longRoute2, parentIsSideB);
+        connect(longRoute2, device, parentIsSideB);
+        fullRepath(controller);
+        assertThat(shortRoute.getUsedChannels()).isEqualTo(1);
+        assertThat(longRoute2.getUsedChannels()).isEqualTo(0);
+
+        remove(controller, shortRoute, false);
+    }
+}
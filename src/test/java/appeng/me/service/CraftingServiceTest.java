@@ -0,0 +1,68 @@
+package appeng.me.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.Level;
+
+import appeng.api.networking.crafting.CalculationStrategy;
+import appeng.api.stacks.GenericStack;
+import appeng.crafting.simulation.helpers.ProcessingPatternBuilder;
+import appeng.crafting.simulation.helpers.SimulationEnv;
+import appeng.util.BootstrapMinecraft;
+
+@BootstrapMinecraft
+class CraftingServiceTest {
+
+    /**
+     * A calculation that waits for the server thread to test an input must not occupy the calculation pool after the
+     * server stopped.
+     */
+    @Test
+    void testStoppingTheServerFreesThePool() throws Exception {
+        var env = new SimulationEnv();
+        var input = GenericStack.fromItemStack(new ItemStack(Items.COBBLESTONE));
+        var output = GenericStack.fromItemStack(new ItemStack(Items.STONE));
+        env.addPattern(new ProcessingPatternBuilder(output).addPreciseInput(1, input).build());
+        env.addStoredItem(input);
+
+        // A server that never gets around to testing the inputs that are handed to it
+        var running = new AtomicBoolean(true);
+        var submitted = new CountDownLatch(1);
+        var server = mock(MinecraftServer.class);
+        when(server.isRunning()).thenAnswer(invocation -> running.get());
+        when(server.submit(any(Supplier.class))).thenAnswer(invocation -> {
+            submitted.countDown();
+            return new CompletableFuture<>();
+        });
+        var level = mock(Level.class);
+        when(level.getServer()).thenReturn(server);
+
+        var waiting = CraftingService.submitCalculation(
+                env.createCalculation(level, output, CalculationStrategy.REPORT_MISSING_ITEMS));
+        assertThat(submitted.await(1, TimeUnit.SECONDS)).isTrue();
+
+        running.set(false);
+        CraftingService.cancelCalculations();
+        assertThat(waiting.isCancelled()).isTrue();
+
+        // The pool is free to run the calculations of the next server
+        var plan = CraftingService.submitCalculation(
+                env.createCalculation(output, CalculationStrategy.REPORT_MISSING_ITEMS))
+                .get(1, TimeUnit.SECONDS);
+        assertThat(plan.simulation()).isFalse();
+    }
+}
@@ -0,0 +1,117 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import appeng.api.config.AccessRestriction;
+import appeng.api.config.Actionable;
+import appeng.api.config.PowerMultiplier;
+import appeng.api.networking.energy.IAEPowerStorage;
+
+class EnergyLedgerTest {
+    private static final Offset<Double> TOLERANCE = Offset.offset(0.001);
+
+    @Test
+    void testExtractionsAreWithdrawnInOrder() {
+        var first = new TestStorage(10);
+        var second = new TestStorage(100);
+        var third = new TestStorage(100);
+        var ledger = new EnergyLedger();
+        ledger.open(List.of(first, second, third));
+        assertThat(ledger.getRemaining()).isCloseTo(210, TOLERANCE);
+
+        var exhausted = new ArrayList<IAEPowerStorage>();
+        for (int i = 0; i < 30; i++) {
+            assertThat(ledger.withdraw(2, exhausted::add)).isCloseTo(2, TOLERANCE);
+        }
+
+        // The providers are withdrawn from immediately
+        assertThat(ledger.getRemaining()).isCloseTo(150, TOLERANCE);
+        assertThat(first.stored).isCloseTo(0, TOLERANCE);
+        assertThat(second.stored).isCloseTo(50, TOLERANCE);
+        assertThat(third.stored).isCloseTo(100, TOLERANCE);
+        assertThat(exhausted).containsExactly(first);
+
+        ledger.close();
+        assertThat(ledger.isOpen()).isFalse();
+    }
+
+    @Test
+    void testWithdrawalIsLimitedToAvailableEnergy() {
+        var storage = new TestStorage(10);
+        var ledger = new EnergyLedger();
+        ledger.open(List.of(storage));
+
+        assertThat(ledger.withdraw(25, provider -> {
+        })).isCloseTo(10, TOLERANCE);
+        assertThat(ledger.withdraw(5, provider -> {
+        })).isCloseTo(0, TOLERANCE);
+        assertThat(ledger.getRemaining()).isCloseTo(0, TOLERANCE);
+    }
+
+    /**
+     * Providers that lost energy after the ledger was opened are skipped once they run dry.
+     */
+    @Test
+    void testProvidersThatLostEnergyAreSkipped() {
+        var first = new TestStorage(10);
+        var second = new TestStorage(10);
+        var ledger = new EnergyLedger();
+        ledger.open(List.of(first, second));
+
+        first.stored = 5;
+        var exhausted = new ArrayList<IAEPowerStorage>();
+        assertThat(ledger.withdraw(8, exhausted::add)).isCloseTo(8, TOLERANCE);
+        assertThat(first.stored).isCloseTo(0, TOLERANCE);
+        assertThat(second.stored).isCloseTo(7, TOLERANCE);
+        assertThat(exhausted).containsExactly(first);
+        assertThat(ledger.getRemaining()).isCloseTo(7, TOLERANCE);
+    }
+
+    private static class TestStorage implements IAEPowerStorage {
+        private double stored;
+
+        TestStorage(double stored) {
+            this.stored = stored;
+        }
+
+        @Override
+        public double injectAEPower(double amt, Actionable mode) {
+            return amt;
+        }
+
+        @Override
+        public double getAEMaxPower() {
+            return stored;
+        }
+
+        @Override
+        public double getAECurrentPower() {
+            return stored;
+        }
+
+        @Override
+        public boolean isAEPublicPowerStorage() {
+            return true;
+        }
+
+        @Override
+        public AccessRestriction getPowerFlow() {
+            return AccessRestriction.READ;
+        }
+
+        @Override
+        public double extractAEPower(double amt, Actionable mode, PowerMultiplier usePowerMultiplier) {
+            var extracted = Math.min(amt, stored);
+            if (mode == Actionable.MODULATE) {
+                stored -= extracted;
+            }
+            return extracted;
+        }
+    }
+}
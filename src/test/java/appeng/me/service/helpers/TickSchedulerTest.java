@@ -0,0 +1,128 @@
+package appeng.me.service.helpers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import appeng.api.networking.IGridNode;
+import appeng.api.networking.ticking.IGridTickable;
+import appeng.api.networking.ticking.TickingRequest;
+
+class TickSchedulerTest {
+    private static TickTracker tracker(int rate, long lastTick) {
+        return new TickTracker(new TickingRequest(rate, rate, false, rate), mock(IGridNode.class),
+                mock(IGridTickable.class), lastTick);
+    }
+
+    private static List<TickTracker> pollAll(TickScheduler scheduler) {
+        var result = new ArrayList<TickTracker>();
+        TickTracker tt;
+        while ((tt = scheduler.pollDue()) != null) {
+            result.add(tt);
+        }
+        return result;
+    }
+
+    @Test
+    void testTrackersBecomeDueAtTheirNextTick() {
+        var scheduler = new TickScheduler(0);
+        var fast = tracker(1, 0);
+        var slow = tracker(5, 0);
+        scheduler.add(fast);
+        scheduler.add(slow);
+
+        scheduler.advanceTo(1);
+        assertThat(pollAll(scheduler)).containsExactly(fast);
+        scheduler.advanceTo(4);
+        assertThat(pollAll(scheduler)).isEmpty();
+        scheduler.advanceTo(5);
+        assertThat(pollAll(scheduler)).containsExactly(slow);
+        assertThat(scheduler.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testRemoveAndReschedule() {
+        var scheduler = new TickScheduler(0);
+        var a = tracker(3, 0);
+        var b = tracker(3, 0);
+        scheduler.add(a);
+        scheduler.add(b);
+        assertThat(scheduler.size()).isEqualTo(2);
+
+        assertThat(scheduler.remove(a)).isTrue();
+        assertThat(scheduler.remove(a)).isFalse();
+        assertThat(scheduler.contains(a)).isFalse();
+
+        // Rescheduling moves the tracker instead of adding it twice
+        b.setTickOnNextTick();
+        scheduler.add(b);
+        assertThat(scheduler.size()).isEqualTo(1);
+
+        scheduler.advanceTo(1);
+        assertThat(pollAll(scheduler)).containsExactly(b);
+        scheduler.advanceTo(10);
+        assertThat(pollAll(scheduler)).isEmpty();
+    }
+
+    @Test
+    void testTrackersBeyondOneRevolution() {
+        var scheduler = new TickScheduler(0);
+        var far = tracker(TickScheduler.WHEEL_SIZE * 3 + 7, 0);
+        scheduler.add(far);
+
+        for (long tick = 1; tick < TickScheduler.WHEEL_SIZE * 3 + 7; tick++) {
+            scheduler.advanceTo(tick);
+            assertThat(scheduler.pollDue()).isNull();
+        }
+        scheduler.advanceTo(TickScheduler.WHEEL_SIZE * 3 + 7);
+        assertThat(pollAll(scheduler)).containsExactly(far);
+    }
+
+    /**
+     * Trackers that are due in exactly a multiple of one revolution must not be ticked a revolution early.
+     */
+    @ParameterizedTest
+    @CsvSource({ "256, 0", "512, 0", "768, 0", "412, 100", "668, 100" })
+    void testTrackersAtMultiplesOfOneRevolution(int rate, long startTick) {
+        var scheduler = new TickScheduler(startTick);
+        var tt = tracker(rate, startTick);
+        scheduler.add(tt);
+
+        for (long tick = startTick + 1; tick < startTick + rate; tick++) {
+            scheduler.advanceTo(tick);
+            assertThat(scheduler.pollDue()).as("tick %d", tick).isNull();
+        }
+        scheduler.advanceTo(startTick + rate);
+        assertThat(pollAll(scheduler)).containsExactly(tt);
+    }
+
+    @Test
+    void testSkippingManyTicksMakesEverythingDue() {
+        var scheduler = new TickScheduler(0);
+        var near = tracker(2, 0);
+        var far = tracker(1000, 0);
+        var notYet = tracker(5000, 0);
+        scheduler.add(far);
+        scheduler.add(near);
+        scheduler.add(notYet);
+
+        scheduler.advanceTo(2000);
+        assertThat(pollAll(scheduler)).containsExactly(near, far);
+        scheduler.advanceTo(5000);
+        assertThat(pollAll(scheduler)).containsExactly(notYet);
+    }
+
+    @Test
+    void testOverdueTrackersAreDueImmediately() {
+        var scheduler = new TickScheduler(100);
+        var overdue = tracker(10, 20);
+        scheduler.add(overdue);
+        assertThat(pollAll(scheduler)).containsExactly(overdue);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.parts.automation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import net.fabricmc.fabric.api.lookup.v1.block.BlockApiCache;
+import net.fabricmc.fabric.api.transfer.v1.item.InventoryStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.FilteringStorage;
+import net.minecraft.core.Direction;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import appeng.api.networking.energy.IEnergySource;
+import appeng.api.networking.storage.IStorageService;
+import appeng.api.stacks.AEItemKey;
+import appeng.api.stacks.AEKeyType;
+import appeng.api.storage.StorageCells;
+import appeng.core.definitions.AEItems;
+import appeng.me.helpers.BaseActionSource;
+import appeng.util.BootstrapMinecraft;
+import appeng.util.prioritylist.DefaultPriorityList;
+
+@BootstrapMinecraft
+class StorageImportStrategyTest {
+    /**
+     * Every key is only extracted as far as the network can still take it after the keys before it were imported.
+     * Otherwise the overflow can't be given back to a storage that doesn't allow insertion, and would be voided.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNothingIsVoidedWhenNetworkRunsOutOfSpace() {
+        var container = new SimpleContainer(128);
+        for (int i = 0; i < container.getContainerSize(); i++) {
+            container.setItem(i, new ItemStack(i % 2 == 0 ? Items.DIRT : Items.STONE, 64));
+        }
+        Storage<ItemVariant> adjacentStorage = FilteringStorage.extractOnlyOf(InventoryStorage.of(container, null));
+
+        var cellItem = AEItems.ITEM_CELL_1K.get();
+        var cellStack = new ItemStack(cellItem);
+        var cell = StorageCells.getCellInventory(cellStack, null);
+        Objects.requireNonNull(cell);
+        // Two types fit into the cell, but not all of both
+        long capacity = (cellItem.getBytes(cellStack) - 2L * cellItem.getBytesPerType(cellStack))
+                * AEKeyType.items().getAmountPerByte();
+        assertThat(capacity).isGreaterThan(64 * 64).isLessThan(128 * 64);
+
+        var storageService = mock(IStorageService.class);
+        when(storageService.getInventory()).thenReturn(cell);
+        var cache = (BlockApiCache<Storage<ItemVariant>, Direction>) mock(BlockApiCache.class);
+        when(cache.find(Direction.UP)).thenReturn(adjacentStorage);
+
+        var strategy = new StorageImportStrategy<>(cache, HandlerStrategy.ITEMS, Direction.UP);
+        var context = new StackTransferContextImpl(storageService, mock(IEnergySource.class), new BaseActionSource(),
+                Integer.MAX_VALUE, DefaultPriorityList.INSTANCE);
+        strategy.transfer(context);
+
+        var dirt = AEItemKey.of(Items.DIRT);
+        var stone = AEItemKey.of(Items.STONE);
+        assertThat(cell.getAvailableStacks().get(dirt)).isEqualTo(64 * 64);
+        assertThat(cell.getAvailableStacks().get(stone)).isEqualTo(capacity - 64 * 64);
+        assertThat(container.countItem(Items.DIRT)).isZero();
+        assertThat(container.countItem(Items.STONE)).isEqualTo(128 * 64 - capacity);
+    }
+}
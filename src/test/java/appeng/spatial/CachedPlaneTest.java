@@ -0,0 +1,142 @@
+/*
+ * This file is part of Applied Energistics 2.
+ * Copyright (c) 2021, TeamAppliedEnergistics, All rights reserved.
+ *
+ * Applied Energistics 2 is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Applied Energistics 2 is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Applied Energistics 2.  If not, see <http://www.gnu.org/licenses/lgpl>.
+ */
+
+package appeng.spatial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.chunk.PalettedContainerRO;
+import net.minecraft.world.ticks.LevelChunkTicks;
+
+import appeng.server.services.compass.ServerCompassService;
+import appeng.util.BootstrapMinecraft;
+
+@MockitoSettings(strictness = Strictness.LENIENT)
+@BootstrapMinecraft
+class CachedPlaneTest {
+    private static final int SECTIONS_PER_CHUNK = 8;
+
+    @Mock
+    ServerLevel level;
+
+    @Mock
+    MockedStatic<SpatialChunkUpdates> chunkUpdates;
+
+    @Mock
+    MockedStatic<ServerCompassService> compassService;
+
+    private final Map<ChunkPos, LevelChunk> chunks = new HashMap<>();
+
+    @BeforeEach
+    void setupLevel() {
+        when(level.getChunk(anyInt(), anyInt()))
+                .thenAnswer(invocation -> getChunk(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    /**
+     * Sections that are fully covered by both planes are swapped as a whole, even if the planes are in different
+     * chunks.
+     */
+    @Test
+    void testSectionsAreSwappedBetweenPlanesWithDifferentOffsets() {
+        fillSections(0, 0, 0, 32, Blocks.STONE.defaultBlockState());
+        fillSections(64, 16, 128, 32, Blocks.DIRT.defaultBlockState());
+
+        var src = new CachedPlane(level, 0, 0, 0, 31, 31, 31);
+        var dst = new CachedPlane(level, 64, 16, 128, 95, 47, 159);
+        src.swap(dst);
+
+        for (int x = 0; x < 32; x += 16) {
+            for (int y = 0; y < 32; y += 16) {
+                for (int z = 0; z < 32; z += 16) {
+                    assertThat(getBlockState(x, y, z)).isEqualTo(Blocks.DIRT.defaultBlockState());
+                    assertThat(getBlockState(64 + x, 16 + y, 128 + z)).isEqualTo(Blocks.STONE.defaultBlockState());
+                }
+            }
+        }
+        // Sections outside of the planes are untouched
+        assertThat(getBlockState(0, 32, 0)).isEqualTo(Blocks.AIR.defaultBlockState());
+        assertThat(getBlockState(64, 0, 128)).isEqualTo(Blocks.AIR.defaultBlockState());
+    }
+
+    private BlockState getBlockState(int x, int y, int z) {
+        var chunk = getChunk(x >> 4, z >> 4);
+        return chunk.getSections()[y >> 4].getBlockState(x & 0xF, y & 0xF, z & 0xF);
+    }
+
+    private void fillSections(int minX, int minY, int minZ, int size, BlockState state) {
+        for (int x = minX; x < minX + size; x += 16) {
+            for (int y = minY; y < minY + size; y += 16) {
+                for (int z = minZ; z < minZ + size; z += 16) {
+                    getChunk(x >> 4, z >> 4).getSections()[y >> 4] = createSection(state);
+                }
+            }
+        }
+    }
+
+    private LevelChunk getChunk(int cx, int cz) {
+        return chunks.computeIfAbsent(new ChunkPos(cx, cz), this::createChunk);
+    }
+
+    @SuppressWarnings("unchecked")
+    private LevelChunk createChunk(ChunkPos pos) {
+        var sections = new LevelChunkSection[SECTIONS_PER_CHUNK];
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = createSection(Blocks.AIR.defaultBlockState());
+        }
+
+        var chunk = mock(LevelChunk.class);
+        when(chunk.getPos()).thenReturn(pos);
+        when(chunk.getSections()).thenReturn(sections);
+        when(chunk.getSection(anyInt())).thenAnswer(invocation -> sections[invocation.<Integer>getArgument(0)]);
+        when(chunk.getSectionIndexFromSectionY(anyInt())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(chunk.getBlockTicks()).thenReturn(new LevelChunkTicks<>());
+        when(chunk.getBlockState(any(BlockPos.class))).thenReturn(Blocks.AIR.defaultBlockState());
+        return chunk;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static LevelChunkSection createSection(BlockState state) {
+        var states = new PalettedContainer<>(Block.BLOCK_STATE_REGISTRY, state,
+                PalettedContainer.Strategy.SECTION_STATES);
+        return new LevelChunkSection(states, mock(PalettedContainerRO.class));
+    }
+}